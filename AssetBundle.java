@@ -0,0 +1,228 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class stores the pieces, the decks and the time boards read from a
+ * binary bundle written by {@link AssetCompiler}. The bundle is memory mapped
+ * and decoded in a single pass, each piece being a long rebuilt through the
+ * {@link PieceCatalog}, so nothing is split nor parsed. The assets are found
+ * by the name of the text file they come from.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class AssetBundle {
+	/**
+	 * Path of the bundle used by the game.
+	 */
+	public static final Path DEFAULT_PATH = Path.of("assets.bin");
+
+	static final int MAGIC = 0x50574142; // PWAB
+	static final int VERSION = 1;
+	static final byte PIECES = 0;
+	static final byte CARDS = 1;
+	static final byte TIME_BOARD = 2;
+
+	private static AssetBundle defaultBundle;
+	private static boolean defaultLoaded;
+
+	private final Map<String, List<Piece>> _pieces = new HashMap<>();
+	private final Map<String, List<Card>> _cards = new HashMap<>();
+	private final Map<String, String> _timeBoards = new HashMap<>();
+
+	private AssetBundle() {
+	}
+
+	/**
+	 * Returns the bundle found at the default path, loaded the first time only.
+	 * The text files are used instead when there is no bundle, when it can't be
+	 * read or when one of its text files was modified after it.
+	 *
+	 * @return the bundle, null if there is none
+	 */
+	public static synchronized AssetBundle getDefault() {
+		if (!defaultLoaded) {
+			defaultLoaded = true;
+			if (Files.exists(DEFAULT_PATH)) {
+				try {
+					var bundle = load(DEFAULT_PATH);
+					defaultBundle = bundle.isUpToDate(DEFAULT_PATH) ? bundle : null;
+				} catch (IOException e) {
+					System.err.println(e.getMessage());
+				}
+			}
+		}
+		return defaultBundle;
+	}
+
+	/**
+	 * Loads the bundle at the given path.
+	 *
+	 * @param path : path to the bundle
+	 * @return the bundle
+	 * @throws IOException : if the file can't be read or is not a valid bundle
+	 */
+	public static AssetBundle load(Path path) throws IOException {
+		Objects.requireNonNull(path);
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			var bundle = new AssetBundle();
+			bundle.decode(buffer);
+			return bundle;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Invalid asset bundle " + path, e);
+		}
+	}
+
+	/**
+	 * Returns the shared pieces of the given file.
+	 *
+	 * @param name : name of the text file
+	 * @return the shared pieces, null if the file is not in the bundle
+	 */
+	public List<Piece> getPieces(String name) {
+		return _pieces.get(Objects.requireNonNull(name));
+	}
+
+	/**
+	 * Returns the cards of the given file.
+	 *
+	 * @param name : name of the text file
+	 * @return the cards, null if the file is not in the bundle
+	 */
+	public List<Card> getCards(String name) {
+		return _cards.get(Objects.requireNonNull(name));
+	}
+
+	/**
+	 * Returns the status of each box of the given file, one char per box.
+	 *
+	 * @param name : name of the text file
+	 * @return the statuses, null if the file is not in the bundle
+	 */
+	public String getTimeBoard(String name) {
+		return _timeBoards.get(Objects.requireNonNull(name));
+	}
+
+	/**
+	 * Decodes every asset of the given buffer.
+	 *
+	 * @param buffer : content of the bundle
+	 * @throws IOException : if the content is not a valid bundle
+	 */
+	private void decode(ByteBuffer buffer) throws IOException {
+		if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+			throw new IOException("Not an asset bundle or unsupported version");
+		}
+		var entries = Short.toUnsignedInt(buffer.getShort());
+		for (int i = 0; i < entries; i++) {
+			var name = readName(buffer);
+			var kind = buffer.get();
+			var count = Short.toUnsignedInt(buffer.getShort());
+			switch (kind) {
+			case PIECES -> _pieces.put(name, readPieces(buffer, count));
+			case CARDS -> _cards.put(name, readCards(buffer, count));
+			case TIME_BOARD -> _timeBoards.put(name, readTimeBoard(buffer, count));
+			default -> throw new IOException("Unknown asset kind " + kind);
+			}
+		}
+	}
+
+	/**
+	 * Checks that none of the text files of the bundle was modified after the
+	 * bundle, a text file that doesn't exist is not checked.
+	 *
+	 * @param path : path to the bundle
+	 * @return true if the bundle can be used
+	 * @throws IOException : if a date can't be read
+	 */
+	private boolean isUpToDate(Path path) throws IOException {
+		var date = Files.getLastModifiedTime(path);
+		var names = new ArrayList<String>(_pieces.keySet());
+		names.addAll(_cards.keySet());
+		names.addAll(_timeBoards.keySet());
+		for (var name : names) {
+			var source = path.resolveSibling(name);
+			if (Files.exists(source) && Files.getLastModifiedTime(source).compareTo(date) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads a name written by DataOutputStream.writeUTF, names are in ASCII.
+	 *
+	 * @param buffer : the buffer
+	 * @return the name
+	 */
+	private static String readName(ByteBuffer buffer) {
+		var bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the given number of pieces, each one being a code.
+	 *
+	 * @param buffer : the buffer
+	 * @param count  : number of pieces
+	 * @return the shared pieces
+	 */
+	private static List<Piece> readPieces(ByteBuffer buffer, int count) {
+		var pieces = new ArrayList<Piece>(count);
+		for (int i = 0; i < count; i++) {
+			pieces.add(PieceCatalog.get(buffer.getLong()));
+		}
+		return List.copyOf(pieces);
+	}
+
+	/**
+	 * Reads the given number of cards, each one being its turn budget, its wage,
+	 * its number of filters and the id of each filter.
+	 *
+	 * @param buffer : the buffer
+	 * @param count  : number of cards
+	 * @return the cards
+	 */
+	private static List<Card> readCards(ByteBuffer buffer, int count) {
+		var cards = new ArrayList<Card>(count);
+		for (int i = 0; i < count; i++) {
+			var turnBudget = buffer.get();
+			var wage = buffer.get();
+			var filters = new Filter[3];
+			var filterCount = buffer.get();
+			for (int j = 0; j < filterCount; j++) {
+				filters[j] = new Filter(buffer.get());
+			}
+			cards.add(new Card(turnBudget, wage, filters));
+		}
+		return List.copyOf(cards);
+	}
+
+	/**
+	 * Reads the given number of box statuses, one byte each.
+	 *
+	 * @param buffer : the buffer
+	 * @param count  : number of boxes
+	 * @return the statuses
+	 */
+	private static String readTimeBoard(ByteBuffer buffer, int count) {
+		var bytes = new byte[count];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,150 @@
+package fr.uge.patchwork;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class compiles the text files of the game in the binary bundle read by
+ * {@link AssetBundle}. A piece is written as the long returned by
+ * {@link Piece#encode()}, a card as a few bytes and a time board as one byte
+ * per box. It must be run again when a text file is modified, the game uses
+ * the text files as long as the bundle is older than them.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class AssetCompiler {
+	/**
+	 * Files of pieces put in the bundle.
+	 */
+	public static final List<String> PIECE_FILES = List.of("load_Normal", "load_phase1", PieceHandler.CUBE_PIECES);
+
+	/**
+	 * Files of cards put in the bundle.
+	 */
+	public static final List<String> CARD_FILES = List.of("load_normal_deck", "load_tactical_deck");
+
+	/**
+	 * Files of time boards put in the bundle.
+	 */
+	public static final List<String> TIME_BOARD_FILES = List.of("load_time_board", "load_time_board_demo");
+
+	private AssetCompiler() {
+	}
+
+	/**
+	 * Compiles the text files in the bundle at the given path, or at the default
+	 * path if none is given.
+	 *
+	 * @param args : path of the bundle, optional
+	 * @throws IOException : if a file can't be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		var bundle = (args.length > 0) ? Path.of(args[0]) : AssetBundle.DEFAULT_PATH;
+		compile(bundle);
+	}
+
+	/**
+	 * Compiles the text files found next to the given bundle in the bundle. The
+	 * bundle is written in a temporary file first, so a game never reads a
+	 * partial bundle.
+	 *
+	 * @param bundle : path of the bundle
+	 * @throws IOException : if a file can't be read or written
+	 */
+	public static void compile(Path bundle) throws IOException {
+		Objects.requireNonNull(bundle);
+		var names = new ArrayList<String>();
+		for (var files : List.of(PIECE_FILES, CARD_FILES, TIME_BOARD_FILES)) {
+			for (var name : files) {
+				if (Files.exists(bundle.resolveSibling(name))) {
+					names.add(name);
+				}
+			}
+		}
+		var temporary = bundle.resolveSibling(bundle.getFileName() + ".tmp");
+		try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+			output.writeInt(AssetBundle.MAGIC);
+			output.writeShort(AssetBundle.VERSION);
+			output.writeShort(names.size());
+			for (var name : names) {
+				output.writeUTF(name);
+				var source = bundle.resolveSibling(name);
+				if (PIECE_FILES.contains(name)) {
+					writePieces(output, source);
+				} else if (CARD_FILES.contains(name)) {
+					writeCards(output, source);
+				} else {
+					writeTimeBoard(output, source);
+				}
+			}
+		}
+		Files.move(temporary, bundle, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Writes the pieces of the given file.
+	 *
+	 * @param output : the bundle
+	 * @param source : the text file
+	 * @throws IOException : if a file can't be read or written
+	 */
+	private static void writePieces(DataOutputStream output, Path source) throws IOException {
+		var pieces = PieceCatalog.load(source);
+		output.writeByte(AssetBundle.PIECES);
+		output.writeShort(pieces.size());
+		for (var piece : pieces) {
+			output.writeLong(piece.encode());
+		}
+	}
+
+	/**
+	 * Writes the cards of the given file.
+	 *
+	 * @param output : the bundle
+	 * @param source : the text file
+	 * @throws IOException : if a file can't be read or written
+	 */
+	private static void writeCards(DataOutputStream output, Path source) throws IOException {
+		var lines = Files.readAllLines(source);
+		output.writeByte(AssetBundle.CARDS);
+		output.writeShort(lines.size());
+		for (var line : lines) {
+			var card = Card.parseLine(line);
+			output.writeByte(card.turnBudget());
+			output.writeByte(card.wage());
+			var filterCount = 0;
+			while (filterCount < card.filters().length && card.filters()[filterCount] != null) {
+				filterCount++;
+			}
+			output.writeByte(filterCount);
+			for (int i = 0; i < filterCount; i++) {
+				output.writeByte(card.filters()[i].toInt());
+			}
+		}
+	}
+
+	/**
+	 * Writes the statuses of the boxes of the given file.
+	 *
+	 * @param output : the bundle
+	 * @param source : the text file
+	 * @throws IOException : if a file can't be read or written
+	 */
+	private static void writeTimeBoard(DataOutputStream output, Path source) throws IOException {
+		var timeBoard = new TimeBoard();
+		timeBoard.loadTimeBoard(source);
+		output.writeByte(AssetBundle.TIME_BOARD);
+		output.writeShort(timeBoard.getSize());
+		for (var box : timeBoard.getBoard()) {
+			output.writeByte(box.toString().charAt(0));
+		}
+	}
+}
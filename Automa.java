@@ -1,7 +1,7 @@
 package fr.uge.patchwork;
 
-import java.awt.Graphics2D;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -11,7 +11,7 @@ import java.util.Objects;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public final class Automa extends GraphicalObject implements IOpponent {
+public final class Automa implements IOpponent {
 	private int _buttonsCount;
 	private int _turnBudget;
 	private final String _name;
@@ -21,7 +21,8 @@ public final class Automa extends GraphicalObject implements IOpponent {
 	private boolean _specialTile;
 	private int _speTilePos;
 	private Constants _difficulty;
-	private ArrayList<Piece> _piecesWithButtons;
+	private int _piecesWithButtons;
+	private int _buttonsOnPieces;
 	
 	/**
 	 * Constructs a new automa using its difficulty and the size of the time board.
@@ -42,7 +43,8 @@ public final class Automa extends GraphicalObject implements IOpponent {
 		_specialTile = false;
 		_difficulty = difficulty;
 		_speTilePos = sizeTimeBoard - difficulty.getValue();
-		_piecesWithButtons = new ArrayList<Piece>();
+		_piecesWithButtons = 0;
+		_buttonsOnPieces = 0;
 	}
 	
 	/**
@@ -77,6 +79,14 @@ public final class Automa extends GraphicalObject implements IOpponent {
 		return _buttonsCount;
 	}
 	
+	/**
+	 * Getter for the wage.
+	 * @return the wage.
+	 */
+	public int getWage() {
+		return _wage;
+	}
+	
 	/**
 	 * The function sets the player position to another position
 	 * @param position
@@ -128,11 +138,7 @@ public final class Automa extends GraphicalObject implements IOpponent {
 	 * @return total number of buttons on all the pieces that the automa acquired.
 	 */
 	private int getNbButtonsPieces() {
-		var nb_buttons = 0;
-		for (int i = 0; i < _piecesWithButtons.size(); i++) {
-			nb_buttons += _piecesWithButtons.get(i).getButtons();
-		}
-		return nb_buttons;
+		return _buttonsOnPieces;
 	}
 	
 	/**
@@ -156,7 +162,7 @@ public final class Automa extends GraphicalObject implements IOpponent {
 	 * @return the score.
 	 */
 	private int fellowScore() {
-		return _buttonsCount + _piecesWithButtons.size() + ((_specialTile) ? 7 : 0);
+		return _buttonsCount + _piecesWithButtons + ((_specialTile) ? 7 : 0);
 	}
 	
 	/**
@@ -172,7 +178,7 @@ public final class Automa extends GraphicalObject implements IOpponent {
 	 * @return the score.
 	 */
 	private int legendScore() {
-		return _buttonsCount + _piecesWithButtons.size() + getNbButtonsPieces() + ((_specialTile) ? 7 : 0);
+		return _buttonsCount + _piecesWithButtons + getNbButtonsPieces() + ((_specialTile) ? 7 : 0);
 	}
 	
 	/**
@@ -190,6 +196,14 @@ public final class Automa extends GraphicalObject implements IOpponent {
 		};
 	}
 	
+	/**
+	 * Returns true if the automa got the special tile.
+	 * @return boolean
+	 */
+	public boolean hasSpecialTile() {
+		return _specialTile;
+	}
+	
 	/**
 	 * Adds a special tile to the automa by setting _specialTile to true.
 	 */
@@ -197,6 +211,42 @@ public final class Automa extends GraphicalObject implements IOpponent {
 		_specialTile = true;
 	}
 	
+	@Override
+	public void saveState(int[] state, int offset) {
+		Objects.requireNonNull(state);
+		state[offset] = _position;
+		state[offset + 1] = _buttonsCount;
+		state[offset + 2] = _wage;
+		state[offset + 3] = _specialTile ? 1 : 0;
+		state[offset + 4] = _turnBudget;
+		state[offset + 5] = _piecesWithButtons;
+		state[offset + 6] = _buttonsOnPieces;
+	}
+
+	/**
+	 * Returns a new automa with the same difficulty and the same stats.
+	 * @return the copy.
+	 */
+	public Automa copy() {
+		var copy = new Automa(_difficulty, _speTilePos + _difficulty.getValue());
+		var state = new int[STATE_SIZE];
+		saveState(state, 0);
+		copy.restoreState(state, 0);
+		return copy;
+	}
+
+	@Override
+	public void restoreState(int[] state, int offset) {
+		Objects.requireNonNull(state);
+		setPosition(state[offset]);
+		_buttonsCount = state[offset + 1];
+		_wage = state[offset + 2];
+		_specialTile = state[offset + 3] != 0;
+		_turnBudget = state[offset + 4];
+		_piecesWithButtons = state[offset + 5];
+		_buttonsOnPieces = state[offset + 6];
+	}
+	
 	/**
 	 * Pays the player with its wage.
 	 */
@@ -215,10 +265,8 @@ public final class Automa extends GraphicalObject implements IOpponent {
 			payEvent();
 			return null;
 		case PATCH:
-			var patch = new Piece();
-			patch.parseLine("1:0:0:0");
 			currentBox.emptyStatus();
-			return patch;
+			return PieceCatalog.getPatch();
 		default:
 			return null;
 		}
@@ -284,9 +332,9 @@ public final class Automa extends GraphicalObject implements IOpponent {
 	 * @param pieces : all the selectable pieces.
 	 * @return all the buyable pieces.
 	 */
-	private ArrayList<Piece> buyablePiece(ArrayList<Piece> pieces) {
+	private ArrayList<Piece> buyablePiece(List<Piece> pieces) {
 		var lst = new ArrayList<Piece>();
-		for (int i = 0; i < 3; i++) {
+		for (int i = 0; i < 3 && i < pieces.size(); i++) {
 			if (_turnBudget >= pieces.get(i).getCost()) {
 				lst.add(pieces.get(i));
 			}
@@ -304,7 +352,8 @@ public final class Automa extends GraphicalObject implements IOpponent {
 		Objects.requireNonNull(timeBoard);
 		move(piece.getMoves(), timeBoard);
 		if (piece.getButtons() > 0) {
-			_piecesWithButtons.add(piece);
+			_piecesWithButtons++;
+			_buttonsOnPieces += piece.getButtons();
 		}
 		return null;
 	}
@@ -318,7 +367,7 @@ public final class Automa extends GraphicalObject implements IOpponent {
 	 * @param timeBoard : TimeBoard object representing the time board.
 	 * @return piece
 	 */
-	public Piece buyingPhase(ArrayList<Piece> pieces, int playerPos, int automaPos, Card currentCard, TimeBoard timeBoard) {
+	public Piece buyingPhase(List<Piece> pieces, int playerPos, int automaPos, Card currentCard, TimeBoard timeBoard) {
 		Objects.requireNonNull(pieces);
 		Objects.requireNonNull(currentCard);
 		Objects.requireNonNull(timeBoard);
@@ -354,19 +403,4 @@ public final class Automa extends GraphicalObject implements IOpponent {
 		}
 		return false;
 	}
-	
-	/**
-	 * Draws the stats of the Automaon the window.
-	 * @param graphics : object that calls the graphic methods.
-	 */
-	protected void onDraw(Graphics2D graphics) {
-		var y = topLeftY;
-		var yPadding = 20;
-		graphics.drawString("Automa's stats : " , topLeftX, y);
-		y += yPadding;
-		graphics.drawString("Current Score : " + getScore() , topLeftX, y);
-		y += yPadding;
-		graphics.drawString("Special Tile : " + ((!_specialTile) ? "Don't have it" : "Got it") , topLeftX, y);
-	}
-	
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package fr.uge.patchwork;
+
+import java.awt.Graphics2D;
+import java.util.Objects;
+
+/**
+ * This class draws the stats of the Automa.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class AutomaView extends GraphicalObject {
+	private final Automa _automa;
+
+	/**
+	 * Constructs a new AutomaView drawing the given automa.
+	 * 
+	 * @param automa : the automa to draw
+	 */
+	public AutomaView(Automa automa) {
+		Objects.requireNonNull(automa);
+		_automa = automa;
+	}
+
+	/**
+	 * Draws the stats of the Automaon the window.
+	 * @param graphics : object that calls the graphic methods.
+	 */
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		var y = topLeftY;
+		var yPadding = 20;
+		graphics.drawString("Automa's stats : " , topLeftX, y);
+		y += yPadding;
+		graphics.drawString("Current Score : " + _automa.getScore() , topLeftX, y);
+		y += yPadding;
+		graphics.drawString("Special Tile : " + ((!_automa.hasSpecialTile()) ? "Don't have it" : "Got it") , topLeftX, y);
+	}
+}
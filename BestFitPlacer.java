@@ -0,0 +1,137 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+
+/**
+ * This class looks for the placement of a piece that fragments the quilt board
+ * the least. Every orientation and every coordinates are evaluated, a
+ * placement is better when the piece exposes fewer sides to empty cells and
+ * when it leaves fewer isolated empty cells. The search stops when it has
+ * evaluated its budget of placements and keeps the best placement found so
+ * far. The budget is a number of placements and not a duration, so the same
+ * quilt board always gets the same placement.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class BestFitPlacer implements IPlacementVisitor {
+	/**
+	 * Budget of a search evaluating every placement.
+	 */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
+
+	private static final int ISOLATED_CELL_PENALTY = 4;
+
+	private final int _budget;
+	private BitBoard _grid;
+	private BitBoard _empty;
+	private BitBoard _neighbors;
+	private int _evaluated;
+	private int _bestScore;
+	private Piece _bestOrientation;
+	private int _bestX;
+	private int _bestY;
+
+	/**
+	 * Constructs a new BestFitPlacer evaluating at most the given number of
+	 * placements, in the order of {@link QuiltBoard#forEachPlacement}.
+	 *
+	 * @param budget : maximal number of placements evaluated by a search
+	 */
+	public BestFitPlacer(int budget) {
+		if (budget <= 0) {
+			throw new IllegalArgumentException("The budget must be positive");
+		}
+		_budget = budget;
+	}
+
+	/**
+	 * Constructs a new BestFitPlacer evaluating every placement.
+	 */
+	public BestFitPlacer() {
+		this(UNLIMITED);
+	}
+
+	/**
+	 * Looks for the best placement of the given piece on the given quilt board.
+	 * The quilt board is not modified.
+	 *
+	 * @param board : the quilt board
+	 * @param piece : the piece to place
+	 * @return true if a placement was found, false if the piece can't be placed
+	 */
+	public boolean search(QuiltBoard board, Piece piece) {
+		Objects.requireNonNull(board);
+		Objects.requireNonNull(piece);
+		_grid = board.getGrid();
+		if (_empty == null || _empty.getSize() != _grid.getSize()) {
+			_empty = new BitBoard(_grid.getSize());
+			_neighbors = new BitBoard(_grid.getSize());
+		}
+		_evaluated = 0;
+		_bestScore = Integer.MAX_VALUE;
+		_bestOrientation = null;
+		board.forEachPlacement(piece, this);
+		_grid = null;
+		return _bestOrientation != null;
+	}
+
+	/**
+	 * Getter for the orientation of the best placement found by the last search.
+	 *
+	 * @return the orientation, null if nothing was found
+	 */
+	public Piece getOrientation() {
+		return _bestOrientation;
+	}
+
+	/**
+	 * Getter for the x coordinate of the best placement found by the last search.
+	 *
+	 * @return x coordinate
+	 */
+	public int getX() {
+		return _bestX;
+	}
+
+	/**
+	 * Getter for the y coordinate of the best placement found by the last search.
+	 *
+	 * @return y coordinate
+	 */
+	public int getY() {
+		return _bestY;
+	}
+
+	@Override
+	public boolean visit(Piece orientation, int x, int y) {
+		var mask = orientation.getPlacementTable(_grid.getSize()).getMaskAt(x, y);
+		var score = evaluate(mask);
+		if (score < _bestScore) {
+			_bestScore = score;
+			_bestOrientation = orientation;
+			_bestX = x;
+			_bestY = y;
+		}
+		_evaluated++;
+		return _evaluated < _budget;
+	}
+
+	/**
+	 * Returns the fragmentation of the quilt board once the given mask is placed,
+	 * the lower the better.
+	 *
+	 * @param mask : mask of the placement
+	 * @return the fragmentation
+	 */
+	private int evaluate(BitBoard mask) {
+		_empty.copy(_grid);
+		_empty.or(mask);
+		_empty.complement();
+		var exposure = BitBoard.countAdjacent(mask, _empty);
+		_neighbors.setNeighbors(_empty);
+		_neighbors.complement();
+		_neighbors.and(_empty);
+		return exposure + ISOLATED_CELL_PENALTY * _neighbors.count();
+	}
+}
@@ -0,0 +1,433 @@
+package fr.uge.patchwork;
+
+import java.util.Arrays;
+
+/**
+ * This class stores a square grid of cells packed in bits, cell (line, col)
+ * being the bit line * size + col of an array of longs. The 81 cells of the
+ * default quilt board fit in two longs, a 16 by 16 quilt board in four. It
+ * handles the collision tests, the placements and the counting of the filled
+ * cells with bitwise operations, so every operation costs one step per long
+ * and not one per cell.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class BitBoard {
+	/**
+	 * Largest number of cells on a side of a grid.
+	 */
+	public static final int MAX_SIZE = 31;
+
+	// for each size : every cell, every cell except the first column, every cell except the last column
+	private static final long[][][] MASKS = initMasks();
+
+	private final int _size;
+	private final long[] _words;
+
+	/**
+	 * Constructs a new empty BitBoard of the given size.
+	 *
+	 * @param size : number of cells on a side of the grid
+	 */
+	public BitBoard(int size) {
+		if (size <= 0 || size > MAX_SIZE) {
+			throw new IllegalArgumentException("The size of the grid must be between 1 and " + MAX_SIZE);
+		}
+		_size = size;
+		_words = new long[wordCount(size)];
+	}
+
+	/**
+	 * Getter for the number of cells on a side of the grid.
+	 *
+	 * @return size of the grid
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Returns the value of the cell at the (line, col) coordinates.
+	 *
+	 * @param line : line of the cell
+	 * @param col  : column of the cell
+	 * @return true if the cell is filled
+	 */
+	public boolean get(int line, int col) {
+		var index = index(line, col);
+		return (_words[index / Long.SIZE] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Returns the cells of the given line, the cell of column col being the bit
+	 * col of the result.
+	 *
+	 * @param line : the line
+	 * @return cells of the line
+	 */
+	public int getRow(int line) {
+		var index = index(line, 0);
+		var word = index / Long.SIZE;
+		var bit = index % Long.SIZE;
+		var bits = _words[word] >>> bit;
+		if (bit != 0 && word + 1 < _words.length) {
+			bits |= _words[word + 1] << (Long.SIZE - bit);
+		}
+		return (int) (bits & ((1L << _size) - 1));
+	}
+
+	/**
+	 * Fills the cell at the (line, col) coordinates.
+	 *
+	 * @param line : line of the cell
+	 * @param col  : column of the cell
+	 */
+	public void set(int line, int col) {
+		var index = index(line, col);
+		_words[index / Long.SIZE] |= 1L << index;
+	}
+
+	/**
+	 * Checks if the board has no filled cell.
+	 *
+	 * @return true if every cell is empty
+	 */
+	public boolean isEmpty() {
+		for (var word : _words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the given board has exactly the same filled cells.
+	 *
+	 * @param other : a board of the same size
+	 * @return true if the cells are the same
+	 */
+	public boolean sameCells(BitBoard other) {
+		return Arrays.equals(_words, other._words);
+	}
+
+	/**
+	 * Empties every cell.
+	 */
+	public void clear() {
+		Arrays.fill(_words, 0);
+	}
+
+	/**
+	 * Fills in this board only the first filled cell of the given board, in
+	 * reading order.
+	 *
+	 * @param source : a board of the same size
+	 */
+	public void setFirstCell(BitBoard source) {
+		var found = false;
+		for (int i = 0; i < _words.length; i++) {
+			_words[i] = found ? 0 : Long.lowestOneBit(source._words[i]);
+			found |= _words[i] != 0;
+		}
+	}
+
+	/**
+	 * Returns the number of filled cells.
+	 *
+	 * @return number of filled cells
+	 */
+	public int count() {
+		var count = 0;
+		for (var word : _words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the Zobrist hash of the filled cells, the XOR of their keys.
+	 *
+	 * @return the hash
+	 */
+	public long zobrist() {
+		var hash = 0L;
+		for (int i = 0; i < _words.length; i++) {
+			for (var word = _words[i]; word != 0; word &= word - 1) {
+				hash ^= Zobrist.cell(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the number of empty cells.
+	 *
+	 * @return number of empty cells
+	 */
+	public int countEmpty() {
+		return _size * _size - count();
+	}
+
+	/**
+	 * Checks if the given mask has a filled cell in common with this board.
+	 *
+	 * @param mask : a mask of the same size
+	 * @return true if at least one cell is shared
+	 */
+	public boolean intersects(BitBoard mask) {
+		var common = 0L;
+		for (int i = 0; i < _words.length; i++) {
+			common |= _words[i] & mask._words[i];
+		}
+		return common != 0;
+	}
+
+	/**
+	 * Checks if the mask stored in the given words, starting at the given index,
+	 * has a filled cell in common with this board.
+	 *
+	 * @param words : words of masks of the same size
+	 * @param from  : index of the first word of the mask
+	 * @return true if at least one cell is shared
+	 */
+	boolean intersects(long[] words, int from) {
+		if (_words.length == 2) {
+			// the default quilt board, without the loop overhead
+			return ((_words[0] & words[from]) | (_words[1] & words[from + 1])) != 0;
+		}
+		var common = 0L;
+		for (int i = 0; i < _words.length; i++) {
+			common |= _words[i] & words[from + i];
+		}
+		return common != 0;
+	}
+
+	/**
+	 * Copies the words of this board in the given array, starting at the given
+	 * index.
+	 *
+	 * @param words : the destination
+	 * @param from  : index of the first word to write
+	 */
+	void copyTo(long[] words, int from) {
+		System.arraycopy(_words, 0, words, from, _words.length);
+	}
+
+	/**
+	 * Replaces the words of this board with the words of the given array,
+	 * starting at the given index.
+	 *
+	 * @param words : the source
+	 * @param from  : index of the first word to read
+	 */
+	void copyFrom(long[] words, int from) {
+		System.arraycopy(words, from, _words, 0, _words.length);
+	}
+
+	/**
+	 * Checks if all the filled cells of the given mask are filled in this board.
+	 *
+	 * @param mask : a mask of the same size
+	 * @return true if every cell of the mask is filled
+	 */
+	public boolean contains(BitBoard mask) {
+		for (int i = 0; i < _words.length; i++) {
+			if ((_words[i] & mask._words[i]) != mask._words[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Fills all the cells of the given mask.
+	 *
+	 * @param mask : a mask of the same size
+	 */
+	public void or(BitBoard mask) {
+		for (int i = 0; i < _words.length; i++) {
+			_words[i] |= mask._words[i];
+		}
+	}
+
+	/**
+	 * Empties all the cells of the given mask.
+	 *
+	 * @param mask : a mask of the same size
+	 */
+	public void andNot(BitBoard mask) {
+		for (int i = 0; i < _words.length; i++) {
+			_words[i] &= ~mask._words[i];
+		}
+	}
+
+	/**
+	 * Copies the cells of the given board in this board.
+	 *
+	 * @param other : a board of the same size
+	 */
+	public void copy(BitBoard other) {
+		System.arraycopy(other._words, 0, _words, 0, _words.length);
+	}
+
+	/**
+	 * Keeps only the cells that are also filled in the given mask.
+	 *
+	 * @param mask : a mask of the same size
+	 */
+	public void and(BitBoard mask) {
+		for (int i = 0; i < _words.length; i++) {
+			_words[i] &= mask._words[i];
+		}
+	}
+
+	/**
+	 * Empties the filled cells and fills the empty ones.
+	 */
+	public void complement() {
+		var full = MASKS[_size][0];
+		for (int i = 0; i < _words.length; i++) {
+			_words[i] = ~_words[i] & full[i];
+		}
+	}
+
+	/**
+	 * Fills in this board every cell that is next to a filled cell of the given
+	 * board (above, below, left or right) and empties the others. The given board
+	 * must not be this board.
+	 *
+	 * @param source : a board of the same size
+	 */
+	public void setNeighbors(BitBoard source) {
+		var size = _size;
+		var masks = MASKS[size];
+		var words = source._words;
+		var previous = 0L;
+		var current = words[0];
+		for (int i = 0; i < _words.length; i++) {
+			var next = (i + 1 < words.length) ? words[i + 1] : 0;
+			_words[i] = ((current << size | previous >>> (Long.SIZE - size)) & masks[0][i])
+					| (current >>> size | next << (Long.SIZE - size))
+					| ((current << 1 | previous >>> (Long.SIZE - 1)) & masks[1][i])
+					| ((current >>> 1 | next << (Long.SIZE - 1)) & masks[2][i]);
+			previous = current;
+			current = next;
+		}
+	}
+
+	/**
+	 * Counts the pairs of neighbor cells (above, below, left or right) where the
+	 * first cell is filled in a and the second one is filled in b.
+	 *
+	 * @param a : a board
+	 * @param b : a board of the same size
+	 * @return number of pairs
+	 */
+	public static int countAdjacent(BitBoard a, BitBoard b) {
+		var size = a._size;
+		var masks = MASKS[size];
+		var words = a._words;
+		var count = 0;
+		var previous = 0L;
+		var current = words[0];
+		for (int i = 0; i < words.length; i++) {
+			var next = (i + 1 < words.length) ? words[i + 1] : 0;
+			var other = b._words[i];
+			count += Long.bitCount((current << size | previous >>> (Long.SIZE - size)) & other)
+					+ Long.bitCount((current >>> size | next << (Long.SIZE - size)) & other)
+					+ Long.bitCount((current << 1 | previous >>> (Long.SIZE - 1)) & masks[1][i] & other)
+					+ Long.bitCount((current >>> 1 | next << (Long.SIZE - 1)) & masks[2][i] & other);
+			previous = current;
+			current = next;
+		}
+		return count;
+	}
+
+	/**
+	 * Fills all the cells of the given mask moved by shift cells.
+	 *
+	 * @param mask  : a mask of the same size, usually a piece at the top left corner
+	 * @param shift : number of cells the mask is moved by (line * size + col)
+	 */
+	public void or(BitBoard mask, int shift) {
+		if (shift < 0) {
+			throw new IllegalArgumentException("The mask must be moved towards the last cell");
+		}
+		var full = MASKS[_size][0];
+		for (int i = 0; i < _words.length; i++) {
+			_words[i] |= shifted(mask._words, i, shift) & full[i];
+		}
+	}
+
+	/**
+	 * Returns the number of longs needed to store a grid of the given size.
+	 *
+	 * @param size : number of cells on a side of the grid
+	 * @return number of longs
+	 */
+	public static int wordCount(int size) {
+		return (size * size + Long.SIZE - 1) / Long.SIZE;
+	}
+
+	/**
+	 * Returns the index of the bit corresponding to the (line, col) coordinates.
+	 *
+	 * @param line : line of the cell
+	 * @param col  : column of the cell
+	 * @return index of the bit
+	 */
+	private int index(int line, int col) {
+		if (line < 0 || col < 0 || line >= _size || col >= _size) {
+			throw new IllegalArgumentException("Invalid coordinates");
+		}
+		return line * _size + col;
+	}
+
+	/**
+	 * Returns the word at the given index of the given words moved by n cells
+	 * towards the last cell.
+	 *
+	 * @param words : the words
+	 * @param i     : index of the word
+	 * @param n     : number of cells, positive
+	 * @return the moved word
+	 */
+	private static long shifted(long[] words, int i, int n) {
+		var source = i - n / Long.SIZE;
+		var bit = n % Long.SIZE;
+		var word = (source >= 0) ? words[source] << bit : 0;
+		if (bit != 0 && source >= 1) {
+			word |= words[source - 1] >>> (Long.SIZE - bit);
+		}
+		return word;
+	}
+
+	/**
+	 * Computes for every size the masks of all the cells, of all the cells except
+	 * the first column and of all the cells except the last column.
+	 *
+	 * @return the masks
+	 */
+	private static long[][][] initMasks() {
+		var masks = new long[MAX_SIZE + 1][][];
+		for (int size = 1; size <= MAX_SIZE; size++) {
+			masks[size] = new long[3][wordCount(size)];
+			for (int line = 0; line < size; line++) {
+				for (int col = 0; col < size; col++) {
+					var index = line * size + col;
+					var bit = 1L << index;
+					masks[size][0][index / Long.SIZE] |= bit;
+					if (col != 0) {
+						masks[size][1][index / Long.SIZE] |= bit;
+					}
+					if (col != size - 1) {
+						masks[size][2][index / Long.SIZE] |= bit;
+					}
+				}
+			}
+		}
+		return masks;
+	}
+}
@@ -3,11 +3,6 @@ package fr.uge.patchwork;
 import java.util.Objects;
 import java.util.Scanner;
 
-import java.awt.Color;
-import java.awt.Font;
-import java.awt.Graphics2D;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,7 +14,7 @@ import java.util.List;
  * @author FRAIZE Victor
  * @author COUSSON Sophie
  */
-public class Box extends GraphicalObject {
+public class Box {
 	private Constants _status;
 	private final ArrayList<IOpponent> _players = new ArrayList<>();
 	private SpecialeBox _special = null;
@@ -142,9 +137,7 @@ public class Box extends GraphicalObject {
 			player.payEvent();
 			break;
 		case PATCH:
-			var patch = new Piece();
-			patch.parseLine("1:0:0:0");
-			player.placingPhase(patch, scanner, version);
+			player.placingPhase(PieceCatalog.getPatch(), scanner, version);
 			_status = Constants.EMPTY;
 			break;
 		default : 
@@ -155,11 +148,13 @@ public class Box extends GraphicalObject {
 	/**
 	 * The function indactes if the box contains the win/loose option
 	 * if the return is negativ the player looses half otherwise he wins
+	 * @param random : the random of the game
 	 * @return 0 if the box doesn't contains the special tile
 	 */
-	public int winLose() {
+	public int winLose(GameRandom random) {
+		Objects.requireNonNull(random);
 		if (_special != null && _special == SpecialeBox.WIN_LOSE) {
-			if (Math.random() < 0.5) {
+			if (random.nextBoolean()) {
 				return 1;
 			}
 			return -1;
@@ -227,69 +222,40 @@ public class Box extends GraphicalObject {
 	}
 	
 	/**
-	 * The function draws the statud of the box (a circle for a button or a 
-	 * square for a patch)
-	 * @param graphics
+	 * Returns the status and the special status of the box packed in a byte, the
+	 * players on the box are not written.
+	 * @return code of the box
 	 */
-	private void drawStatus(Graphics2D graphics) {
-		switch(_status) {
-		case BUTTON : 
-			graphics.setColor(Color.CYAN);
-			Ellipse2D.Float ellipse = new Ellipse2D.Float(topLeftX - 5, topLeftY - 5, width, height);
-			graphics.fill(ellipse);
-			break;
-		case PATCH :
-			graphics.setColor(Color.MAGENTA);
-			var rectangle = new Rectangle2D.Float(topLeftX - 5, topLeftY - 5, width, height);
-			graphics.fill(rectangle);
-		default : break;
-		}
+	public byte encode() {
+		var status = switch (_status) {
+		case BUTTON -> 1;
+		case PATCH -> 2;
+		default -> 0;
+		};
+		var special = (_special == null) ? 0 : _special.ordinal() + 1;
+		return (byte) (status | special << 2);
 	}
 	
 	/**
-	 * The function draws the special status of the box (if it has one)
-	 * @param graphics
+	 * Replaces the status and the special status of the box with the ones of
+	 * the given code returned by encode, and removes the players of the box.
+	 * @param code : code of the box
 	 */
-	private void drawSpecial(Graphics2D graphics) {
-		if (_special == null) {return;}
-		graphics.setColor(Color.BLACK);
-		graphics.setFont(new Font("default", Font.BOLD, 12));
-		switch(_special) {
-		case WIN_LOSE : 
-			graphics.drawString("Win", topLeftX + width/2, topLeftY + height/2-5);
-			graphics.drawString("Lose", topLeftX + width/2, topLeftY + height/2+5);
-			return;
-		case FREEZE :
-			graphics.drawString("Freeze", topLeftX + width/2, topLeftY + height/2);
-			return;
-		case DOUBLE :
-			graphics.drawString("Double", topLeftX + width/2, topLeftY + height/2);
-			return;
-		case SWITCH_POSITION :
-			graphics.drawString("Switch", topLeftX + width/2, topLeftY + height/2-5);
-			graphics.drawString("Pos", topLeftX + width/2, topLeftY + height/2+5);
-			return;
-		case CHANCE :
-			graphics.drawString("Chance", topLeftX + width/2, topLeftY + height/2-5);
-			return;
-		case SWITCH_BOARD :
-			graphics.drawString("Forced", topLeftX + width/2, topLeftY + height/2-5);
-			graphics.drawString("Board", topLeftX + width/2, topLeftY + height/2+5);
-			return;
-		case DRAW :
-			graphics.drawString("Draw", topLeftX + width/2, topLeftY + height/2);
-			return;
-		default : return;
+	public void restore(byte code) {
+		var special = (code & 0xFF) >> 2;
+		if (special > SpecialeBox.values().length) {
+			throw new IllegalArgumentException("Invalid code");
 		}
+		_status = switch (code & 3) {
+		case 1 -> Constants.BUTTON;
+		case 2 -> Constants.PATCH;
+		case 0 -> Constants.EMPTY;
+		default -> throw new IllegalArgumentException("Invalid code");
+		};
+		_special = (special == 0) ? null : SpecialeBox.values()[special - 1];
+		_players.clear();
 	}
 	
-
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		drawStatus(graphics);
-		drawSpecial(graphics);
-	}
-
 	@Override
 	public String toString() {
 		switch (_status) {
@@ -0,0 +1,102 @@
+package fr.uge.patchwork;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+/**
+ * This class draws a box of the time board, its status and its special status.
+ * 
+ * @author FRAIZE Victor
+ * @author COUSSON Sophie
+ */
+public class BoxView extends GraphicalObject {
+	private Box _box;
+
+	/**
+	 * Constructs a new BoxView drawing the given box.
+	 * 
+	 * @param box : the box to draw
+	 */
+	public BoxView(Box box) {
+		Objects.requireNonNull(box);
+		_box = box;
+	}
+
+	/**
+	 * Changes the box drawn by this view.
+	 * 
+	 * @param box : the box to draw
+	 */
+	public void setBox(Box box) {
+		Objects.requireNonNull(box);
+		_box = box;
+	}
+
+	/**
+	 * The function draws the statud of the box (a circle for a button or a 
+	 * square for a patch)
+	 * @param graphics
+	 */
+	private void drawStatus(Graphics2D graphics) {
+		switch(_box.getStatus()) {
+		case BUTTON : 
+			graphics.setColor(Color.CYAN);
+			Ellipse2D.Float ellipse = new Ellipse2D.Float(topLeftX - 5, topLeftY - 5, width, height);
+			graphics.fill(ellipse);
+			break;
+		case PATCH :
+			graphics.setColor(Color.MAGENTA);
+			var rectangle = new Rectangle2D.Float(topLeftX - 5, topLeftY - 5, width, height);
+			graphics.fill(rectangle);
+		default : break;
+		}
+	}
+	
+	/**
+	 * The function draws the special status of the box (if it has one)
+	 * @param graphics
+	 */
+	private void drawSpecial(Graphics2D graphics) {
+		var special = _box.getSpecial();
+		if (special == null) {return;}
+		graphics.setColor(Color.BLACK);
+		graphics.setFont(new Font("default", Font.BOLD, 12));
+		switch(special) {
+		case WIN_LOSE : 
+			graphics.drawString("Win", topLeftX + width/2, topLeftY + height/2-5);
+			graphics.drawString("Lose", topLeftX + width/2, topLeftY + height/2+5);
+			return;
+		case FREEZE :
+			graphics.drawString("Freeze", topLeftX + width/2, topLeftY + height/2);
+			return;
+		case DOUBLE :
+			graphics.drawString("Double", topLeftX + width/2, topLeftY + height/2);
+			return;
+		case SWITCH_POSITION :
+			graphics.drawString("Switch", topLeftX + width/2, topLeftY + height/2-5);
+			graphics.drawString("Pos", topLeftX + width/2, topLeftY + height/2+5);
+			return;
+		case CHANCE :
+			graphics.drawString("Chance", topLeftX + width/2, topLeftY + height/2-5);
+			return;
+		case SWITCH_BOARD :
+			graphics.drawString("Forced", topLeftX + width/2, topLeftY + height/2-5);
+			graphics.drawString("Board", topLeftX + width/2, topLeftY + height/2+5);
+			return;
+		case DRAW :
+			graphics.drawString("Draw", topLeftX + width/2, topLeftY + height/2);
+			return;
+		default : return;
+		}
+	}
+
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		drawStatus(graphics);
+		drawSpecial(graphics);
+	}
+}
@@ -1,11 +1,11 @@
 package fr.uge.patchwork;
 
-import java.awt.Graphics2D;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -15,25 +15,61 @@ import java.util.Objects;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class CardHandler extends GraphicalObject {
+public class CardHandler {
 	private Constants _deck;
 	private final ArrayList<Card> _pile;
 	private final ArrayList<Card> _discard;
+	private final ArrayList<Card> _cards;
+	private final GameRandom _random;
 	
 	/**
-	 * Constructs a new CardHandler object.
+	 * Constructs a new CardHandler object with a random of its own.
 	 */
 	public CardHandler () {
+		this(new GameRandom());
+	}
+	
+	/**
+	 * Constructs a new CardHandler object whose pile is shuffled with the given random.
+	 * @param random : the random of the game.
+	 */
+	public CardHandler(GameRandom random) {
 		_pile = new ArrayList<Card>();
 		_discard = new ArrayList<Card>();
+		_cards = new ArrayList<Card>();
 		_deck = Constants.DEFAULT; 
+		_random = Objects.requireNonNull(random);
+	}
+	
+	/**
+	 * Getter for the deck used.
+	 * @return enum indicating the deck used.
+	 */
+	public Constants getDeck() {
+		return _deck;
+	}
+	
+	/**
+	 * Returns the card on top of the pile.
+	 * @return the card, null if the pile is empty.
+	 */
+	public Card getPileTop() {
+		return _pile.isEmpty() ? null : _pile.get(0);
+	}
+	
+	/**
+	 * Returns the last card added to the discard.
+	 * @return the card, null if the discard is empty.
+	 */
+	public Card getDiscardTop() {
+		return _discard.isEmpty() ? null : _discard.get(_discard.size() - 1);
 	}
 	
 	/**
 	 * Initializes the pile at the beginning of the game by shuffling it and adding two cards to the discard.
 	 */
 	public void initPile() {
-		Collections.shuffle(_pile);
+		_random.shuffle(_pile);
 		addToDiscard(_pile.get(0));
 		addToDiscard(_pile.get(1));
 		_pile.remove(0);
@@ -47,6 +83,7 @@ public class CardHandler extends GraphicalObject {
 	private void addToPile(Card card) {
 		Objects.requireNonNull(card);
 		_pile.add(card);
+		_cards.add(card);
 	}
 	
 	/**
@@ -77,6 +114,20 @@ public class CardHandler extends GraphicalObject {
 		}
 	}
 	
+	/**
+	 * Initializes the pile with the given cards.
+	 * @param cards : the cards, they are shared and not modified.
+	 * @param deck : enum indicating the deck used.
+	 */
+	public void loadCards(List<Card> cards, Constants deck) {
+		Objects.requireNonNull(cards);
+		Objects.requireNonNull(deck);
+		_deck = deck;
+		for (var card : cards) {
+			addToPile(card);
+		}
+	}
+	
 	/**
 	 * Copies the cards from the discard to the pile.
 	 */
@@ -90,11 +141,90 @@ public class CardHandler extends GraphicalObject {
 	 * Shuffles the discards, adds the cards in the discard to the pile and clear the discard.
 	 */
 	public void restockEmptyPile() {
-		Collections.shuffle(_discard);
+		_random.shuffle(_discard);
 		copyDiscardPileToPile();
 		_discard.clear();
 	}
 	
+	/**
+	 * Shuffles the pile and the discard with the random of the handler, so that
+	 * a search playing in a copy of a game doesn't know the order of the cards
+	 * the automa will draw.
+	 */
+	public void shuffleHidden() {
+		_random.shuffle(_pile);
+		_random.shuffle(_discard);
+	}
+	
+	/**
+	 * Returns the order of the pile, each card being its index in the loaded deck.
+	 * @return the indexes of the cards of the pile.
+	 */
+	public byte[] savePile() {
+		return save(_pile);
+	}
+	
+	/**
+	 * Returns the order of the discard, each card being its index in the loaded deck.
+	 * @return the indexes of the cards of the discard.
+	 */
+	public byte[] saveDiscard() {
+		return save(_discard);
+	}
+	
+	/**
+	 * Replaces the pile and the discard with the cards of the given indexes
+	 * returned by savePile and saveDiscard.
+	 * @param pile : indexes of the cards of the pile.
+	 * @param discard : indexes of the cards of the discard.
+	 */
+	public void restore(byte[] pile, byte[] discard) {
+		Objects.requireNonNull(pile);
+		Objects.requireNonNull(discard);
+		_pile.clear();
+		_discard.clear();
+		for (var index : pile) {
+			_pile.add(_cards.get(Byte.toUnsignedInt(index)));
+		}
+		for (var index : discard) {
+			_discard.add(_cards.get(Byte.toUnsignedInt(index)));
+		}
+	}
+	
+	/**
+	 * Returns the indexes in the loaded deck of the given cards, equal cards
+	 * being interchangeable.
+	 * @param cards : the cards.
+	 * @return the indexes.
+	 */
+	private byte[] save(List<Card> cards) {
+		var indexes = new byte[cards.size()];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = (byte) _cards.indexOf(cards.get(i));
+		}
+		return indexes;
+	}
+	
+	/**
+	 * Returns the number of cards the next draw is made from : the pile, or the
+	 * discard when the pile is empty.
+	 * @return number of cards.
+	 */
+	public int getDrawableCount() {
+		return _pile.isEmpty() ? _discard.size() : _pile.size();
+	}
+	
+	/**
+	 * Makes the given card of the pile the next one drawn, so that a search can
+	 * play each card the automa may draw. The pile must not be empty, an empty
+	 * pile is restocked once with restockEmptyPile before the cards are played,
+	 * otherwise each card would be drawn from a new shuffle.
+	 * @param index : index of the card in the pile.
+	 */
+	public void drawNext(int index) {
+		Collections.swap(_pile, 0, Objects.checkIndex(index, _pile.size()));
+	}
+	
 	/**
 	 * Simulates a card draw by removing a card from the pile to the discard. Also return that card.
 	 * @return card drown.
@@ -107,15 +237,4 @@ public class CardHandler extends GraphicalObject {
 		_pile.remove(0);
 		return _discard.get(_discard.size() - 1);
 	}
-	
-
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		if (_pile.size() > 0 && _discard.size() > 0) {
-			graphics.drawString("PILE", 55, 635);
-			_pile.get(0).drawCardBack(graphics, 20, 650, 110, 180, _deck);
-			graphics.drawString("DISCARD", 180, 635);
-			_discard.get(_discard.size() - 1).drawCardFront(graphics, 150, 650, 110, 180);
-		}
-	}
 }
\ No newline at end of file
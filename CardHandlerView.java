@@ -0,0 +1,106 @@
+package fr.uge.patchwork;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+/**
+ * This class draws the pile and the discard of the deck used by the automa.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class CardHandlerView extends GraphicalObject {
+	private final CardHandler _cardHandler;
+
+	/**
+	 * Constructs a new CardHandlerView drawing the cards of the given handler.
+	 * 
+	 * @param cardHandler : the card handler
+	 */
+	public CardHandlerView(CardHandler cardHandler) {
+		Objects.requireNonNull(cardHandler);
+		_cardHandler = cardHandler;
+	}
+
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		var pileTop = _cardHandler.getPileTop();
+		var discardTop = _cardHandler.getDiscardTop();
+		if (pileTop != null && discardTop != null) {
+			graphics.drawString("PILE", 55, 635);
+			drawCardBack(graphics, pileTop, 20, 650, 110, 180, _cardHandler.getDeck());
+			graphics.drawString("DISCARD", 180, 635);
+			drawCardFront(graphics, discardTop, 150, 650, 110, 180);
+		}
+	}
+
+	/**
+	 * Draws the front of a card.
+	 * @param  graphics : object that calls the graphic methods.
+	 * @param card : the card.
+	 * @param topLeftX : x coordinates of the top left corner.
+	 * @param topLeftY : y coordinates of the top left corner.
+	 * @param width : width of the card.
+	 * @param height : height of the card.
+	 */
+	private static void drawCardFront(Graphics2D graphics, Card card, int topLeftX, int topLeftY, int width, int height) {
+		var rect = new Rectangle2D.Float(topLeftX, topLeftY, width, height);
+		var yPadding = 35;
+		var y = topLeftY + 45;
+		var filters = card.filters();
+		graphics.draw(rect);
+		graphics.drawLine(topLeftX, topLeftY + 30, topLeftX + width, topLeftY + 30);
+		graphics.drawString("" + card.turnBudget(), (topLeftX + width) - (width / 2), topLeftY + 20);
+		for (int i = 0; i < 3; i++) {
+			if (filters[i] != null) {
+				graphics.drawString(i + ".", (topLeftX + width) - (width / 2), y);
+				drawFilter(graphics, filters[i], topLeftX + 5, y + 13);
+				y += yPadding;
+			}
+		}
+		graphics.drawString("+" + card.wage(), topLeftX + width - 25, topLeftY + height - 15);
+	}
+	
+	/**
+	 * Draws the back of a card.
+	 * @param graphics : object that calls the graphic methods.
+	 * @param card : the card.
+	 * @param topLeftX : x coordinates of the top left corner.
+	 * @param topLeftY : y coordinates of the top left corner.
+	 * @param width : width of the card.
+	 * @param height : height of the card.
+	 * @param deck : indicates the deck used.
+	 */
+	private static void drawCardBack(Graphics2D graphics, Card card, int topLeftX, int topLeftY, int width, int height, Constants deck) {
+		var rect = new Rectangle2D.Float(topLeftX, topLeftY, width, height);
+		graphics.draw(rect);
+		graphics.drawLine(topLeftX, topLeftY + 30, topLeftX + width, topLeftY + 30);
+		if (deck == Constants.TACTICAL_DECK) {
+			graphics.drawString("" + card.turnBudget(), (topLeftX + width) - (width / 2), topLeftY + 20);
+		}
+	}
+
+	/**
+	 * Draws the description of a filter.
+	 * @param graphics : object that calls the graphic methods.
+	 * @param filter : the filter.
+	 * @param x : x coordinates of the description.
+	 * @param y : y coordinates of the description.
+	 */
+	private static void drawFilter(Graphics2D graphics, Filter filter, int x, int y) {
+		switch(filter.filterId()) {
+		case LESS_MOVE -> graphics.drawString("Keeps its turn", x, y);
+		case MOST_BUTTON -> {
+			graphics.drawString("Piece with the", x, y);
+			graphics.drawString("most buttons", x, y + 9);
+		}
+		case BIGGEST_PIECE -> graphics.drawString("Biggest piece", x, y);
+		case FARTHEST_PIECE -> {
+			graphics.drawString("Farthest piece from", x, y);
+			graphics.drawString("neutral token", x, y + 9);
+		}
+		default -> throw new IllegalArgumentException("Unexpected value: " + filter.filterId());
+		}
+	}
+}
@@ -0,0 +1,235 @@
+package fr.uge.patchwork;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class stores the connected groups of empty cells of a quilt board (two
+ * empty cells are connected if they are next to each other horizontally or
+ * vertically). When a piece is placed, only the groups that share a cell with
+ * the piece are split again, the other ones are kept as they are.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class EmptyRegions {
+	private final int _size;
+	private BitBoard[] _components;
+	private int[] _sizes;
+	private int _count;
+	private BitBoard[] _nextComponents;
+	private int[] _nextSizes;
+	private final BitBoard _remaining;
+	private final BitBoard _grown;
+	private boolean _upToDate;
+
+	/**
+	 * Constructs the groups of empty cells of an empty quilt board of the given
+	 * size.
+	 *
+	 * @param size : size of the quilt board
+	 */
+	public EmptyRegions(int size) {
+		_size = size;
+		_components = new BitBoard[0];
+		_sizes = new int[0];
+		_nextComponents = new BitBoard[0];
+		_nextSizes = new int[0];
+		_remaining = new BitBoard(size);
+		_grown = new BitBoard(size);
+		rebuild(new BitBoard(size));
+	}
+
+	/**
+	 * Checks if the groups match the quilt board. They don't after a placement has
+	 * been undone, then they must be rebuilt.
+	 *
+	 * @return true if the groups are up to date
+	 */
+	public boolean isUpToDate() {
+		return _upToDate;
+	}
+
+	/**
+	 * Marks the groups as not matching the quilt board anymore.
+	 */
+	public void invalidate() {
+		_upToDate = false;
+	}
+
+	/**
+	 * Computes all the groups of empty cells of the given grid.
+	 *
+	 * @param grid : cells of the quilt board
+	 */
+	public void rebuild(BitBoard grid) {
+		Objects.requireNonNull(grid);
+		_remaining.copy(grid);
+		_remaining.complement();
+		_count = extract(0, true);
+		_upToDate = true;
+	}
+
+	/**
+	 * Updates the groups after the cells of the given mask have been filled.
+	 *
+	 * @param mask : mask of the placed piece
+	 */
+	public void remove(BitBoard mask) {
+		Objects.requireNonNull(mask);
+		if (!_upToDate) {
+			return;
+		}
+		var next = 0;
+		for (int i = 0; i < _count; i++) {
+			if (_components[i].intersects(mask)) {
+				_remaining.copy(_components[i]);
+				_remaining.andNot(mask);
+				next = extract(next, false);
+			} else {
+				next = reserve(next, false);
+				_nextComponents[next].copy(_components[i]);
+				_nextSizes[next] = _sizes[i];
+				next++;
+			}
+		}
+		var components = _components;
+		var sizes = _sizes;
+		_components = _nextComponents;
+		_sizes = _nextSizes;
+		_nextComponents = components;
+		_nextSizes = sizes;
+		_count = next;
+	}
+
+	/**
+	 * Returns the number of groups of empty cells.
+	 *
+	 * @return number of groups
+	 */
+	public int getComponentCount() {
+		return _count;
+	}
+
+	/**
+	 * Returns the cells of the group at the given index.
+	 *
+	 * @param index : index of the group
+	 * @return cells of the group, must not be modified
+	 */
+	public BitBoard getComponent(int index) {
+		Objects.checkIndex(index, _count);
+		return _components[index];
+	}
+
+	/**
+	 * Returns the number of cells of the group at the given index.
+	 *
+	 * @param index : index of the group
+	 * @return number of cells
+	 */
+	public int getComponentSize(int index) {
+		Objects.checkIndex(index, _count);
+		return _sizes[index];
+	}
+
+	/**
+	 * Returns the number of cells of the largest group.
+	 *
+	 * @return number of cells, 0 if the quilt board is full
+	 */
+	public int getLargestComponent() {
+		var largest = 0;
+		for (int i = 0; i < _count; i++) {
+			largest = Math.max(largest, _sizes[i]);
+		}
+		return largest;
+	}
+
+	/**
+	 * Returns the number of isolated holes, which are empty cells surrounded by
+	 * filled cells or by the border.
+	 *
+	 * @return number of holes
+	 */
+	public int getHoleCount() {
+		return countSmallerThan(2);
+	}
+
+	/**
+	 * Returns the number of groups that have strictly less cells than the given
+	 * number. No piece bigger than a group can be placed inside it.
+	 *
+	 * @param nbCells : number of cells
+	 * @return number of groups
+	 */
+	public int countSmallerThan(int nbCells) {
+		var count = 0;
+		for (int i = 0; i < _count; i++) {
+			if (_sizes[i] < nbCells) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Splits the cells of _remaining into groups that are written from the given
+	 * index. _remaining is empty afterwards.
+	 *
+	 * @param index   : first free index
+	 * @param current : true to write in the current groups, false in the next ones
+	 * @return index following the last written group
+	 */
+	private int extract(int index, boolean current) {
+		while (!_remaining.isEmpty()) {
+			index = reserve(index, current);
+			var component = current ? _components[index] : _nextComponents[index];
+			component.setFirstCell(_remaining);
+			while (true) {
+				_grown.setNeighbors(component);
+				_grown.or(component);
+				_grown.and(_remaining);
+				if (_grown.sameCells(component)) {
+					break;
+				}
+				component.copy(_grown);
+			}
+			_remaining.andNot(component);
+			if (current) {
+				_sizes[index] = component.count();
+			} else {
+				_nextSizes[index] = component.count();
+			}
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Makes sure the current or next groups have room for the given index.
+	 *
+	 * @param index   : index of the group to write
+	 * @param current : true for the current groups, false for the next ones
+	 * @return the given index
+	 */
+	private int reserve(int index, boolean current) {
+		var components = current ? _components : _nextComponents;
+		if (index < components.length) {
+			return index;
+		}
+		var length = Math.max(4, components.length * 2);
+		var grown = Arrays.copyOf(components, length);
+		for (int i = components.length; i < length; i++) {
+			grown[i] = new BitBoard(_size);
+		}
+		if (current) {
+			_components = grown;
+			_sizes = Arrays.copyOf(_sizes, length);
+		} else {
+			_nextComponents = grown;
+			_nextSizes = Arrays.copyOf(_nextSizes, length);
+		}
+		return index;
+	}
+}
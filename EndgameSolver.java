@@ -0,0 +1,462 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * This class solves the end of a game, once both opponents are close to the
+ * last box of the time board. Every line of moves is played until the end of
+ * the game : skipping, and buying each piece with each of its placements. The
+ * cards the automa may draw and both sides of the coin of a WIN_LOSE box are
+ * averaged. The value of each position is kept with the position itself as
+ * key, so a position reached by several lines, or again at the next turn, is
+ * only solved once.
+ *
+ * A piece with more placements than the limit of the solver is only placed
+ * where it fragments the quilt board the least, and the patches and the
+ * pieces of a DRAW box are always placed that way. A result is proven when no
+ * placement was left out, its margin is then the exact final margin of the
+ * best play, or the expected one against the automa.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class EndgameSolver {
+	/**
+	 * Default distance to the last box from which the end of a game is solved.
+	 */
+	public static final int DEFAULT_DISTANCE = 10;
+
+	/**
+	 * Default number of placements of a piece from which it is only placed at
+	 * its best fit.
+	 */
+	public static final int DEFAULT_PLACEMENTS = 16;
+
+	/**
+	 * Default number of positions a solution may search.
+	 */
+	public static final int DEFAULT_NODES = 200_000;
+
+	private static final int MAX_POSITIONS = 1 << 20;
+
+	private final int _distance;
+	private final int _placements;
+	private final int _maxNodes;
+	private final HashMap<GameState, Value> _values;
+	private final GreedyStrategy _placement;
+	private final Simulation _simulation;
+	private HeadlessGame _game;
+	private HeadlessGame _copy;
+	private int _nodes;
+	private boolean _proven;
+	private boolean _cut;
+	private int _turn;
+	private int _deepest;
+
+	/**
+	 * Constructs a new EndgameSolver.
+	 *
+	 * @param distance : distance to the last box from which the end is solved
+	 * @param placements : maximal number of placements of a piece that are all
+	 *        played
+	 * @param maxNodes : maximal number of positions a solution may search
+	 */
+	public EndgameSolver(int distance, int placements, int maxNodes) {
+		if (distance < 0 || placements < 1 || maxNodes < 1) {
+			throw new IllegalArgumentException("Invalid limits");
+		}
+		_distance = distance;
+		_placements = placements;
+		_maxNodes = maxNodes;
+		_values = new HashMap<>();
+		_placement = new GreedyStrategy();
+		_simulation = new Simulation(_placement);
+	}
+
+	/**
+	 * Constructs a new EndgameSolver with the default limits.
+	 */
+	public EndgameSolver() {
+		this(DEFAULT_DISTANCE, DEFAULT_PLACEMENTS, DEFAULT_NODES);
+	}
+
+	/**
+	 * Getter for the number of positions searched by the last solution, the
+	 * positions already known not included.
+	 *
+	 * @return number of positions
+	 */
+	public int getNodes() {
+		return _nodes;
+	}
+
+	/**
+	 * Returns true if the last solution played every placement of every piece.
+	 *
+	 * @return boolean
+	 */
+	public boolean isProven() {
+		return _proven;
+	}
+
+	/**
+	 * Checks whether or not both opponents of the given game are within the
+	 * distance of the solver from the last box.
+	 *
+	 * @param game : the game
+	 * @return boolean
+	 */
+	public boolean isEndgame(HeadlessGame game) {
+		Objects.requireNonNull(game);
+		var last = game.getTimeBoard().getSize() - 1;
+		var opponents = game.getOpponentHandler();
+		return last - opponents.getOpponentIndex(0).getPosition() <= _distance
+				&& last - opponents.getOpponentIndex(1).getPosition() <= _distance;
+	}
+
+	/**
+	 * Solves the end of the given game for its current player. The game is not
+	 * modified.
+	 *
+	 * @param game : the game, at the end and with a player to play
+	 * @return the best move and the final margin of the player, null if the
+	 *         solution needs more positions than the limit of the solver
+	 */
+	public Hint solve(HeadlessGame game) {
+		Objects.requireNonNull(game);
+		var opponents = game.getOpponentHandler();
+		var player = opponents.getCurrent();
+		if (player instanceof Automa || game.isOver() || !isEndgame(game)) {
+			throw new IllegalArgumentException("There is no end of game to solve");
+		}
+		prepare(game);
+		var state = game.getState();
+		_copy.setState(state);
+		_nodes = 0;
+		_turn = 0;
+		_deepest = 0;
+		var maximize = opponents.getCurrentIndex() == 0;
+		var alpha = Double.NEGATIVE_INFINITY;
+		var beta = Double.POSITIVE_INFINITY;
+		Move best = null;
+		var moves = moves();
+		_proven = !_cut;
+		for (var move : moves) {
+			var value = play(state, -1, move, alpha, beta);
+			if (value == null) {
+				return null;
+			}
+			_proven &= value.proven();
+			// a value inside the window is exact
+			if (maximize ? value.margin() > alpha : value.margin() < beta) {
+				best = move;
+				if (maximize) {
+					alpha = value.margin();
+				} else {
+					beta = value.margin();
+				}
+			}
+		}
+		var bestValue = maximize ? alpha : -beta;
+		if (best.piece() < 0) {
+			return new Hint(-1, null, bestValue, _deepest);
+		}
+		// the orientations of the copy are not the ones of the game
+		_copy.setState(state);
+		var orientations = _copy.getPieceHandler().getPiece(best.piece()).getOrientations();
+		var orientation = game.getPieceHandler().getPiece(best.piece()).getOrientations()
+				.get(orientations.indexOf(best.placement().orientation()));
+		var placement = new Placement(orientation, best.placement().x(), best.placement().y());
+		return new Hint(best.piece(), placement, bestValue, _deepest);
+	}
+
+	/**
+	 * Makes the copy of the given game the solver plays in, if it isn't made yet.
+	 * The known values are kept while the game is the same.
+	 *
+	 * @param game : the game
+	 */
+	private void prepare(HeadlessGame game) {
+		if (game == _game && _values.size() < MAX_POSITIONS) {
+			return;
+		}
+		if (game != _game) {
+			try {
+				_copy = game.copy(_simulation, new GameRandom());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			_game = game;
+		}
+		_values.clear();
+	}
+
+	/**
+	 * Returns the value of the current position of the copy searched with the
+	 * given window : a value below the window is an upper bound, a value above
+	 * it is a lower bound. The copy is left in any state.
+	 *
+	 * @param alpha : the margin the first opponent is sure to get elsewhere
+	 * @param beta : the margin the second opponent is sure to give elsewhere
+	 * @return the value, null if the limit of positions is reached
+	 */
+	private Value solve(double alpha, double beta) {
+		var opponents = _copy.getOpponentHandler();
+		if (_copy.isOver()) {
+			var margin = opponents.getOpponentIndex(0).getScore() - opponents.getOpponentIndex(1).getScore();
+			return new Value(margin, TranspositionTable.EXACT, true);
+		}
+		var state = _copy.getState();
+		var known = _values.get(state);
+		if (known != null && (known.bound() == TranspositionTable.EXACT
+				|| (known.bound() == TranspositionTable.LOWER_BOUND && known.margin() >= beta)
+				|| (known.bound() == TranspositionTable.UPPER_BOUND && known.margin() <= alpha))) {
+			return known;
+		}
+		if (++_nodes > _maxNodes) {
+			return null;
+		}
+		var result = (opponents.getCurrent() instanceof Automa) ? draw(state) : choose(state, alpha, beta);
+		if (result != null) {
+			_values.put(state, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the value of the best move of the current player of the copy, the
+	 * search stops as soon as the value is out of the given window.
+	 *
+	 * @param state : the state of the copy
+	 * @param alpha : the margin the first opponent is sure to get elsewhere
+	 * @param beta : the margin the second opponent is sure to give elsewhere
+	 * @return the value, null if the limit of positions is reached
+	 */
+	private Value choose(GameState state, double alpha, double beta) {
+		var maximize = _copy.getOpponentHandler().getCurrentIndex() == 0;
+		var best = maximize ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		var low = alpha;
+		var high = beta;
+		var moves = moves();
+		var proven = !_cut;
+		for (var move : moves) {
+			var value = play(state, -1, move, low, high);
+			if (value == null) {
+				return null;
+			}
+			proven &= value.proven();
+			if (maximize) {
+				best = Math.max(best, value.margin());
+				low = Math.max(low, best);
+			} else {
+				best = Math.min(best, value.margin());
+				high = Math.min(high, best);
+			}
+			if (low >= high) {
+				break;
+			}
+		}
+		var bound = (best <= alpha) ? TranspositionTable.UPPER_BOUND
+				: (best >= beta) ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+		return new Value(best, bound, proven);
+	}
+
+	/**
+	 * Returns the average value of the turn of the automa over the cards it may
+	 * draw. An empty pile is restocked once, so that each card is played once.
+	 *
+	 * @param state : the state of the copy
+	 * @return the value, null if the limit of positions is reached
+	 */
+	private Value draw(GameState state) {
+		var cards = _copy.getCardHandler();
+		if (cards.getPileTop() == null) {
+			cards.restockEmptyPile();
+			state = _copy.getState();
+		}
+		var count = cards.getDrawableCount();
+		var sum = 0.0;
+		var proven = true;
+		for (int i = 0; i < count; i++) {
+			var value = play(state, i, null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+			if (value == null) {
+				return null;
+			}
+			sum += value.margin();
+			proven &= value.proven();
+		}
+		return new Value(sum / count, TranspositionTable.EXACT, proven);
+	}
+
+	/**
+	 * Plays the given move in the copy, from the given state, and returns the
+	 * value of the position it leads to searched with the given window. When
+	 * the opponent that plays next stands on a WIN_LOSE box, both sides of the
+	 * coin are averaged with the same card drawn, their exact values are needed.
+	 *
+	 * @param state : the state of the copy before the move
+	 * @param card : index in the pile of the card the automa draws, -1 for a
+	 *        player
+	 * @param move : the move, null for the turn of the automa
+	 * @param alpha : the margin the first opponent is sure to get elsewhere
+	 * @param beta : the margin the second opponent is sure to give elsewhere
+	 * @return the value, null if the limit of positions is reached
+	 */
+	private Value play(GameState state, int card, Move move, double alpha, double beta) {
+		playTurn(state, card, move, 1);
+		var box = _copy.getTimeBoard().getBoard().get(_copy.getOpponentHandler().getCurrent().getPosition());
+		_turn++;
+		_deepest = Math.max(_deepest, _turn);
+		try {
+			if (box.getSpecial() != SpecialeBox.WIN_LOSE) {
+				return solve(alpha, beta);
+			}
+			var win = solve(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+			if (win == null) {
+				return null;
+			}
+			playTurn(state, card, move, -1);
+			var lose = solve(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+			if (lose == null) {
+				return null;
+			}
+			return new Value((win.margin() + lose.margin()) / 2, TranspositionTable.EXACT,
+					win.proven() && lose.proven());
+		} finally {
+			_turn--;
+		}
+	}
+
+	/**
+	 * Restores the given state of the copy and plays the given move in it.
+	 *
+	 * @param state : the state of the copy before the move
+	 * @param card : index in the pile of the card the automa draws, -1 for a
+	 *        player
+	 * @param move : the move, null for the turn of the automa
+	 * @param winLose : result of a WIN_LOSE box, 1 to win, -1 to lose
+	 */
+	private void playTurn(GameState state, int card, Move move, int winLose) {
+		_copy.setState(state);
+		if (card != -1) {
+			_copy.getCardHandler().drawNext(card);
+		}
+		_copy.getTimeBoard().forceWinLose(winLose);
+		_simulation.force(move);
+		_copy.playTurn();
+	}
+
+	/**
+	 * Returns the moves of the current player of the copy : each placement of
+	 * each piece it can buy, the pieces that bring the most points per move
+	 * first, then skipping. A piece with too many placements is
+	 * only placed at its best fit, the moves are then cut.
+	 *
+	 * @return the moves
+	 */
+	private ArrayList<Move> moves() {
+		var player = _copy.getOpponentHandler().getCurrent();
+		var board = player.getQuiltboard();
+		var pieces = _copy.getPieceHandler();
+		var indexes = new ArrayList<Integer>();
+		for (int i = 0; i < _copy.getReachable(); i++) {
+			var piece = pieces.getPiece(i);
+			if (player.canBuyPiece(piece) && board.canPlace(piece)) {
+				indexes.add(i);
+			}
+		}
+		// the best pieces first, so that the window closes sooner
+		indexes.sort(Comparator.comparingDouble(
+				(Integer i) -> GreedyStrategy.rate(_copy.getTimeBoard(), player, pieces.getPiece(i))).reversed());
+		var moves = new ArrayList<Move>();
+		_cut = false;
+		for (var index : indexes) {
+			var piece = pieces.getPiece(index);
+			if (board.countPlacements(piece) <= _placements) {
+				board.forEachPlacement(piece, (orientation, x, y) -> {
+					moves.add(new Move(index, new Placement(orientation, x, y)));
+					return true;
+				});
+			} else {
+				moves.add(new Move(index, _placement.place(_copy, player, piece)));
+				_cut = true;
+			}
+		}
+		moves.add(new Move(-1, null));
+		return moves;
+	}
+
+	/**
+	 * Move of a player : the piece bought and its placement.
+	 *
+	 * @param piece : index of the piece after the neutral pawn, -1 to skip
+	 * @param placement : placement of the piece, null to skip
+	 */
+	private record Move(int piece, Placement placement) {
+	}
+
+	/**
+	 * Value of a position : the margin of the first opponent, the kind of bound
+	 * it is and whether or not every placement was played to get it.
+	 *
+	 * @param margin : final margin of the first opponent, expected against the
+	 *        automa
+	 * @param bound : EXACT, LOWER_BOUND or UPPER_BOUND of {@link TranspositionTable}
+	 * @param proven : true if no placement was left out
+	 */
+	private record Value(double margin, int bound, boolean proven) {
+	}
+
+	/**
+	 * Strategy of the players of the copy : it plays the move the solver is
+	 * trying and places the other pieces at their best fit.
+	 */
+	private static final class Simulation implements IStrategy {
+		private final GreedyStrategy _placement;
+		private Move _move;
+
+		/**
+		 * Constructs a new Simulation.
+		 *
+		 * @param placement : the strategy placing the other pieces
+		 */
+		private Simulation(GreedyStrategy placement) {
+			_placement = placement;
+		}
+
+		/**
+		 * Sets the move played by the next turn of a player.
+		 *
+		 * @param move : the move, null for the turn of the automa
+		 */
+		private void force(Move move) {
+			_move = move;
+		}
+
+		@Override
+		public int choosePiece(HeadlessGame game, IOpponent player, int reachable) {
+			return _move.piece();
+		}
+
+		@Override
+		public Placement place(HeadlessGame game, IOpponent player, Piece piece) {
+			if (_move != null && _move.placement() != null) {
+				var placement = _move.placement();
+				// the bought piece is placed first, then the patches
+				_move = new Move(_move.piece(), null);
+				return placement;
+			}
+			return _placement.place(game, player, piece);
+		}
+
+		@Override
+		public Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces) {
+			return _placement.chooseOptionalPiece(game, player, pieces);
+		}
+	}
+}
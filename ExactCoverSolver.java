@@ -0,0 +1,343 @@
+package fr.uge.patchwork;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class packs pieces on the empty cells of a quilt board with the
+ * algorithm X of Knuth, using dancing links. Each empty cell is a column that
+ * must be covered, and each piece a column that may be covered at most once.
+ * Each free placement of each orientation of a piece is a row covering its
+ * cells and its piece.
+ *
+ * A cell may also be left empty, so the search finds the packing covering the
+ * most cells when no packing covers them all. The column with the fewest rows
+ * is chosen first, and a branch is cut when even the area of the pieces left
+ * can't leave fewer empty cells than the best packing found. The search stops
+ * at the first complete packing, or when it has visited the given number of
+ * nodes, with the best packing found so far.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class ExactCoverSolver {
+	/**
+	 * Default number of nodes a search may visit.
+	 */
+	public static final long DEFAULT_NODES = 1_000_000;
+
+	private static final int ROOT = 0;
+
+	private final long _maxNodes;
+	private long _nodes;
+	private boolean _stopped;
+
+	// the dancing links, the headers of the columns come first
+	private int[] _left;
+	private int[] _right;
+	private int[] _up;
+	private int[] _down;
+	private int[] _column;
+	private int[] _row;
+	private int[] _count;
+	private int _cells;
+
+	// the rows and the pieces
+	private final ArrayList<Placement> _placements = new ArrayList<>();
+	private int[] _rowPiece;
+	private int[] _area;
+	private boolean[] _used;
+
+	// the current and the best packings
+	private int[] _stack;
+	private int _depth;
+	private int _empty;
+	private int[] _best;
+	private int _bestDepth;
+	private int _bestUncovered;
+
+	/**
+	 * Constructs a new solver visiting at most the given number of nodes.
+	 *
+	 * @param maxNodes : number of nodes a search may visit
+	 */
+	public ExactCoverSolver(long maxNodes) {
+		if (maxNodes <= 0) {
+			throw new IllegalArgumentException("Invalid number of nodes");
+		}
+		_maxNodes = maxNodes;
+	}
+
+	/**
+	 * Constructs a new solver visiting at most {@link #DEFAULT_NODES} nodes.
+	 */
+	public ExactCoverSolver() {
+		this(DEFAULT_NODES);
+	}
+
+	/**
+	 * Getter for the number of nodes visited by the last search.
+	 *
+	 * @return number of nodes
+	 */
+	public long getNodes() {
+		return _nodes;
+	}
+
+	/**
+	 * Packs the pieces of the given piece handler on the empty cells of the
+	 * given quilt board.
+	 *
+	 * @param board : the quilt board, which is not modified
+	 * @param pieces : the pieces left around the neutral pawn
+	 * @return the best packing found
+	 */
+	public Packing solve(QuiltBoard board, PieceHandler pieces) {
+		Objects.requireNonNull(pieces);
+		var list = new ArrayList<Piece>(pieces.getSize());
+		for (int i = 0; i < pieces.getSize(); i++) {
+			list.add(pieces.getPiece(i));
+		}
+		return solve(board, list);
+	}
+
+	/**
+	 * Packs the given pieces on the empty cells of the given quilt board, each
+	 * piece being placed at most once in any of its orientations.
+	 *
+	 * @param board : the quilt board, which is not modified
+	 * @param pieces : the candidate pieces
+	 * @return the best packing found
+	 */
+	public Packing solve(QuiltBoard board, List<Piece> pieces) {
+		Objects.requireNonNull(board);
+		Objects.requireNonNull(pieces);
+		build(board, pieces);
+		_nodes = 0;
+		_stopped = false;
+		_depth = 0;
+		_empty = 0;
+		_bestDepth = 0;
+		_bestUncovered = Integer.MAX_VALUE;
+		search();
+		var placements = new ArrayList<Placement>(_bestDepth);
+		for (int i = 0; i < _bestDepth; i++) {
+			placements.add(_placements.get(_best[i]));
+		}
+		var result = new Packing(placements, _cells - _bestUncovered, _bestUncovered, !_stopped || _bestUncovered == 0);
+		_placements.clear();
+		return result;
+	}
+
+	/**
+	 * Builds the columns of the empty cells and of the pieces, and a row for
+	 * each free placement, the largest pieces first.
+	 *
+	 * @param board : the quilt board
+	 * @param pieces : the candidate pieces
+	 */
+	private void build(QuiltBoard board, List<Piece> pieces) {
+		var size = board.getSize();
+		var grid = board.getGrid();
+		var cellColumn = new int[size * size];
+		_cells = 0;
+		for (int line = 0; line < size; line++) {
+			for (int col = 0; col < size; col++) {
+				cellColumn[line * size + col] = grid.get(line, col) ? -1 : ++_cells;
+			}
+		}
+		var order = new ArrayList<Piece>(pieces);
+		order.sort(Comparator.comparingInt(Piece::getNumberOfBodyParts).reversed());
+
+		// collects the rows before sizing the links
+		var rowPieces = new ArrayList<Integer>();
+		var nodes = 0;
+		for (int p = 0; p < order.size(); p++) {
+			for (var orientation : Objects.requireNonNull(order.get(p)).getOrientations()) {
+				var table = orientation.getPlacementTable(size);
+				for (int i = 0; i < table.getCount(); i++) {
+					if (table.isFree(grid, i)) {
+						_placements.add(new Placement(orientation, table.getX(i), table.getY(i)));
+						rowPieces.add(p);
+						nodes += orientation.getNumberOfBodyParts() + 1;
+					}
+				}
+			}
+		}
+		var headers = 1 + _cells + order.size();
+		var length = headers + nodes;
+		_left = new int[length];
+		_right = new int[length];
+		_up = new int[length];
+		_down = new int[length];
+		_column = new int[length];
+		_row = new int[length];
+		_count = new int[headers];
+		for (int c = 0; c < headers; c++) {
+			_up[c] = c;
+			_down[c] = c;
+			_column[c] = c;
+			// only the cells are linked to the root, the pieces need not be covered
+			if (c <= _cells) {
+				_left[c] = c == ROOT ? _cells : c - 1;
+				_right[c] = c == _cells ? ROOT : c + 1;
+			} else {
+				_left[c] = c;
+				_right[c] = c;
+			}
+		}
+		_rowPiece = new int[_placements.size()];
+		_area = new int[order.size()];
+		_used = new boolean[order.size()];
+		for (int p = 0; p < order.size(); p++) {
+			_area[p] = order.get(p).getNumberOfBodyParts();
+		}
+		var node = headers;
+		for (int r = 0; r < _placements.size(); r++) {
+			var placement = _placements.get(r);
+			var piece = rowPieces.get(r);
+			_rowPiece[r] = piece;
+			var first = node;
+			var orientation = placement.orientation();
+			for (int line = 0; line < orientation.getYSize(); line++) {
+				for (int col = 0; col < orientation.getXSize(); col++) {
+					if (orientation.getBodyValue(line, col)) {
+						var cell = (placement.y() + line) * size + placement.x() + col;
+						link(node++, first, cellColumn[cell], r);
+					}
+				}
+			}
+			link(node++, first, 1 + _cells + piece, r);
+		}
+		_stack = new int[order.size()];
+		_best = new int[order.size()];
+	}
+
+	/**
+	 * Appends a node at the bottom of its column and at the end of its row.
+	 *
+	 * @param node : the node
+	 * @param first : first node of the row
+	 * @param column : header of the column
+	 * @param row : index of the row
+	 */
+	private void link(int node, int first, int column, int row) {
+		_column[node] = column;
+		_row[node] = row;
+		_up[node] = _up[column];
+		_down[node] = column;
+		_down[_up[column]] = node;
+		_up[column] = node;
+		_count[column]++;
+		if (node == first) {
+			_left[node] = node;
+			_right[node] = node;
+		} else {
+			_left[node] = _left[first];
+			_right[node] = first;
+			_right[_left[first]] = node;
+			_left[first] = node;
+		}
+	}
+
+	/**
+	 * Removes the given column from the headers and its rows from the other
+	 * columns.
+	 *
+	 * @param c : header of the column
+	 */
+	private void cover(int c) {
+		_right[_left[c]] = _right[c];
+		_left[_right[c]] = _left[c];
+		for (int i = _down[c]; i != c; i = _down[i]) {
+			for (int j = _right[i]; j != i; j = _right[j]) {
+				_down[_up[j]] = _down[j];
+				_up[_down[j]] = _up[j];
+				_count[_column[j]]--;
+			}
+		}
+	}
+
+	/**
+	 * Puts back the given column, in the reverse order of {@link #cover(int)}.
+	 *
+	 * @param c : header of the column
+	 */
+	private void uncover(int c) {
+		for (int i = _up[c]; i != c; i = _up[i]) {
+			for (int j = _left[i]; j != i; j = _left[j]) {
+				_count[_column[j]]++;
+				_down[_up[j]] = j;
+				_up[_down[j]] = j;
+			}
+		}
+		_right[_left[c]] = c;
+		_left[_right[c]] = c;
+	}
+
+	/**
+	 * Covers the columns left by trying each row of the column with the fewest
+	 * rows, then by leaving its cell empty.
+	 */
+	private void search() {
+		if (_nodes == _maxNodes) {
+			_stopped = true;
+			return;
+		}
+		_nodes++;
+		// the column with the fewest rows, and the cells no row can cover
+		var chosen = ROOT;
+		var remaining = 0;
+		var dead = 0;
+		for (int c = _right[ROOT]; c != ROOT; c = _right[c]) {
+			remaining++;
+			if (_count[c] == 0) {
+				dead++;
+			}
+			if (chosen == ROOT || _count[c] < _count[chosen]) {
+				chosen = c;
+			}
+		}
+		if (_empty + remaining < _bestUncovered) {
+			_bestUncovered = _empty + remaining;
+			_bestDepth = _depth;
+			System.arraycopy(_stack, 0, _best, 0, _depth);
+		}
+		if (chosen == ROOT || _bestUncovered == 0) {
+			return;
+		}
+		var area = 0;
+		for (int p = 0; p < _used.length; p++) {
+			if (!_used[p] && _count[1 + _cells + p] > 0) {
+				area += _area[p];
+			}
+		}
+		if (_empty + remaining - Math.min(remaining - dead, area) >= _bestUncovered) {
+			return;
+		}
+
+		cover(chosen);
+		for (int i = _down[chosen]; i != chosen && !_stopped && _bestUncovered > 0; i = _down[i]) {
+			for (int j = _right[i]; j != i; j = _right[j]) {
+				cover(_column[j]);
+			}
+			var row = _row[i];
+			_used[_rowPiece[row]] = true;
+			_stack[_depth++] = row;
+			search();
+			_depth--;
+			_used[_rowPiece[row]] = false;
+			for (int j = _left[i]; j != i; j = _left[j]) {
+				uncover(_column[j]);
+			}
+		}
+		if (!_stopped && _bestUncovered > 0) {
+			_empty++;
+			search();
+			_empty--;
+		}
+		uncover(chosen);
+	}
+}
@@ -0,0 +1,425 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class searches the best move of a player with an expectimax search :
+ * the player maximizes its margin, the other player minimizes it and the
+ * chance is averaged, every card the automa may draw being played as well as
+ * both sides of the coin of a WIN_LOSE box. The search is deepened one turn
+ * at a time until its time budget is spent, the move of the last complete
+ * search is kept. The best move of each position is stored in a
+ * {@link TranspositionTable} and searched first by the next deeper search,
+ * then the pieces are searched by the points they bring per move.
+ *
+ * Beyond the depth of the search, a position is worth the score of each
+ * opponent with the buttons its wage will bring and one button for each box
+ * left to walk. The search is used as a strategy or asked for a {@link Hint}.
+ * It may be given an {@link EndgameSolver}, which then takes over the search
+ * at the end of the game.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class ExpectimaxStrategy implements IStrategy {
+	/**
+	 * Default time budget of a move, in nanoseconds.
+	 */
+	public static final long DEFAULT_BUDGET = 200_000_000;
+
+	private static final int MAX_DEPTH = 64;
+	// depth stored for the values searched to the end of the game
+	private static final int END_OF_GAME = 0xFF;
+	private static final int TABLE_CAPACITY = 1 << 16;
+	// the table stores ints, the values are kept with 8 bits after the point
+	private static final double TABLE_SCALE = 256;
+	private static final double SPACE_VALUE = 1.0;
+
+	private final long _budget;
+	private final GreedyStrategy _placement;
+	private final TranspositionTable _table;
+	private final Simulation _simulation;
+	private final EndgameSolver _endgame;
+	private HeadlessGame _game;
+	private HeadlessGame _copy;
+	private boolean _exact;
+	private int _player;
+	private long _deadline;
+	private boolean _timeout;
+	private boolean _cutoff;
+	private int _bestMove;
+	private long _nodes;
+	private Placement _pending;
+
+	/**
+	 * Constructs a new ExpectimaxStrategy with the given time budget, solving
+	 * the end of the game with the given solver. The solver is bounded by its
+	 * number of positions, not by the time budget.
+	 *
+	 * @param budget : duration of the search of a move in nanoseconds
+	 * @param endgame : the solver of the end of the game, null to search it
+	 *        like the rest of the game
+	 */
+	public ExpectimaxStrategy(long budget, EndgameSolver endgame) {
+		if (budget <= 0) {
+			throw new IllegalArgumentException("The budget must be positive");
+		}
+		_budget = budget;
+		_placement = new GreedyStrategy();
+		_table = new TranspositionTable(TABLE_CAPACITY);
+		_simulation = new Simulation(_placement);
+		_endgame = endgame;
+	}
+
+	/**
+	 * Constructs a new ExpectimaxStrategy with the given time budget.
+	 *
+	 * @param budget : duration of the search of a move in nanoseconds
+	 */
+	public ExpectimaxStrategy(long budget) {
+		this(budget, null);
+	}
+
+	/**
+	 * Constructs a new ExpectimaxStrategy with the default time budget.
+	 */
+	public ExpectimaxStrategy() {
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Getter for the number of positions searched by the last search.
+	 *
+	 * @return number of positions
+	 */
+	public long getNodes() {
+		return _nodes;
+	}
+
+	/**
+	 * Searches the best move of the current player of the given game until the
+	 * time budget is spent. The game is not modified.
+	 *
+	 * @param game : the game
+	 * @return the best move found
+	 */
+	public Hint hint(HeadlessGame game) {
+		Objects.requireNonNull(game);
+		var opponents = game.getOpponentHandler();
+		var player = opponents.getCurrent();
+		if (player instanceof Automa) {
+			throw new IllegalArgumentException("The automa follows its cards");
+		}
+		if (_endgame != null && _endgame.isEndgame(game)) {
+			var solved = _endgame.solve(game);
+			if (solved != null) {
+				return solved;
+			}
+		}
+		_deadline = System.nanoTime() + _budget;
+		_nodes = 0;
+		_timeout = false;
+		prepare(game);
+		_player = opponents.getCurrentIndex();
+		var state = game.getState();
+		_copy.setState(state);
+		var moves = orderMoves(_copy, _table.get(_copy.getHash()));
+		var best = moves[0];
+		var value = evaluate();
+		var depth = 0;
+		if (moves.length > 1) {
+			for (int i = 1; i <= MAX_DEPTH; i++) {
+				_copy.setState(state);
+				_cutoff = false;
+				var result = search(i, true);
+				if (_timeout) {
+					break;
+				}
+				best = _bestMove;
+				value = result;
+				depth = i;
+				if (!_cutoff) {
+					// every line reached the end of the game
+					break;
+				}
+			}
+		}
+		if (best < 0) {
+			return new Hint(-1, null, value, depth);
+		}
+		var placement = _placement.place(game, player, game.getPieceHandler().getPiece(best));
+		return new Hint(best, placement, value, depth);
+	}
+
+	@Override
+	public int choosePiece(HeadlessGame game, IOpponent player, int reachable) {
+		var hint = hint(game);
+		_pending = hint.placement();
+		return hint.piece();
+	}
+
+	@Override
+	public Placement place(HeadlessGame game, IOpponent player, Piece piece) {
+		Objects.requireNonNull(piece);
+		// the bought piece goes where the hint placed it, the patches and the
+		// pieces of a DRAW box where they fit best
+		if (_pending != null && _pending.orientation().getOrientations() == piece.getOrientations()) {
+			var placement = _pending;
+			_pending = null;
+			return placement;
+		}
+		return _placement.place(game, player, piece);
+	}
+
+	@Override
+	public Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces) {
+		return _placement.chooseOptionalPiece(game, player, pieces);
+	}
+
+	/**
+	 * Makes the copy of the given game the search plays in, if it isn't made
+	 * yet. The values of the table are only reused without automa : its cards
+	 * are not part of the hash of a position.
+	 *
+	 * @param game : the game
+	 */
+	private void prepare(HeadlessGame game) {
+		if (game == _game) {
+			return;
+		}
+		try {
+			_copy = game.copy(_simulation, new GameRandom());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		_game = game;
+		_table.clear();
+		var opponents = game.getOpponentHandler();
+		_exact = !(opponents.getOpponentIndex(0) instanceof Automa || opponents.getOpponentIndex(1) instanceof Automa);
+	}
+
+	/**
+	 * Returns the value of the current position of the copy for the searching
+	 * player, searched the given number of turns. The copy is left in any state.
+	 *
+	 * @param depth : number of turns to search
+	 * @param root : true if the position is the one of the hint
+	 * @return the value, meaningless if the time is out
+	 */
+	private double search(int depth, boolean root) {
+		if (_copy.isOver()) {
+			return evaluate();
+		}
+		if (depth == 0) {
+			_cutoff = true;
+			return evaluate();
+		}
+		if (System.nanoTime() - _deadline >= 0) {
+			_timeout = true;
+			return 0;
+		}
+		_nodes++;
+		var state = _copy.getState();
+		var opponents = _copy.getOpponentHandler();
+		if (opponents.getCurrent() instanceof Automa) {
+			var cards = _copy.getCardHandler();
+			// the discard is shuffled once, so that each card is played once
+			if (cards.getPileTop() == null) {
+				cards.restockEmptyPile();
+				state = _copy.getState();
+			}
+			var count = cards.getDrawableCount();
+			var sum = 0.0;
+			for (int i = 0; i < count && !_timeout; i++) {
+				sum += play(state, i, -1, depth);
+			}
+			return sum / count;
+		}
+		var hash = _copy.getHash();
+		var entry = _table.get(hash);
+		var sign = (_player == 0) ? 1 : -1;
+		if (_exact && entry != TranspositionTable.MISSING && TranspositionTable.depth(entry) >= depth && !root) {
+			_cutoff |= TranspositionTable.depth(entry) != END_OF_GAME;
+			return sign * TranspositionTable.score(entry) / TABLE_SCALE;
+		}
+		var maximize = opponents.getCurrentIndex() == _player;
+		var best = maximize ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		var bestMove = -1;
+		var cutoff = _cutoff;
+		_cutoff = false;
+		for (var move : orderMoves(_copy, entry)) {
+			var value = play(state, -1, move, depth);
+			if (_timeout) {
+				return 0;
+			}
+			if (maximize ? value > best : value < best) {
+				best = value;
+				bestMove = move;
+			}
+		}
+		// only a value searched to the end of the game is valid at any depth
+		var stored = _cutoff ? depth : END_OF_GAME;
+		_table.put(hash, TranspositionTable.entry((int) Math.round(sign * best * TABLE_SCALE), stored,
+				TranspositionTable.EXACT, bestMove));
+		_cutoff |= cutoff;
+		if (root) {
+			_bestMove = bestMove;
+		}
+		return best;
+	}
+
+	/**
+	 * Plays the given move in the copy, from the given state, and returns the
+	 * value of the position it leads to. When the opponent that plays next
+	 * stands on a WIN_LOSE box, both sides of the coin are searched, each with
+	 * the same card drawn.
+	 *
+	 * @param state : the state of the copy before the move
+	 * @param card : index in the pile of the card the automa draws, -1 for a
+	 *        player
+	 * @param move : the piece bought, -1 to skip or for the turn of the automa
+	 * @param depth : number of turns to search, this one included
+	 * @return the value, meaningless if the time is out
+	 */
+	private double play(GameState state, int card, int move, int depth) {
+		playTurn(state, card, move, 1);
+		var opponents = _copy.getOpponentHandler();
+		var box = _copy.getTimeBoard().getBoard().get(opponents.getCurrent().getPosition());
+		if (box.getSpecial() != SpecialeBox.WIN_LOSE) {
+			return search(depth - 1, false);
+		}
+		var win = search(depth - 1, false);
+		playTurn(state, card, move, -1);
+		return (win + search(depth - 1, false)) / 2;
+	}
+
+	/**
+	 * Restores the given state of the copy and plays the given move in it.
+	 *
+	 * @param state : the state of the copy before the move
+	 * @param card : index in the pile of the card the automa draws, -1 for a
+	 *        player
+	 * @param move : the piece bought, -1 to skip or for the turn of the automa
+	 * @param winLose : result of a WIN_LOSE box, 1 to win, -1 to lose
+	 */
+	private void playTurn(GameState state, int card, int move, int winLose) {
+		_copy.setState(state);
+		if (card != -1) {
+			_copy.getCardHandler().drawNext(card);
+		}
+		_copy.getTimeBoard().forceWinLose(winLose);
+		_simulation.force(move);
+		_copy.playTurn();
+	}
+
+	/**
+	 * Returns the value of the current position of the copy for the searching
+	 * player : its potential minus the one of the other opponent.
+	 *
+	 * @return the value
+	 */
+	private double evaluate() {
+		var opponents = _copy.getOpponentHandler();
+		return potential(opponents.getOpponentIndex(_player)) - potential(opponents.getOpponentIndex(1 - _player));
+	}
+
+	/**
+	 * Returns the score the given opponent can expect at the end of the game :
+	 * its score, the buttons its wage will bring and a button for each box left.
+	 * At the end of the game, it is its score.
+	 *
+	 * @param opponent : the opponent
+	 * @return the expected score
+	 */
+	private double potential(IOpponent opponent) {
+		var timeBoard = _copy.getTimeBoard();
+		var left = timeBoard.getSize() - 1 - opponent.getPosition();
+		return opponent.getScore() + SPACE_VALUE * left
+				+ opponent.getWage() * GreedyStrategy.countIncomes(timeBoard, opponent.getPosition());
+	}
+
+	/**
+	 * Returns the moves the current player of the given game can play, the best
+	 * move of the given entry first, then the pieces by the points they bring
+	 * per move, skipping being worth a button per move.
+	 *
+	 * @param game : the game
+	 * @param entry : entry of the position in the table, MISSING if there is none
+	 * @return the moves, -1 to skip
+	 */
+	private static int[] orderMoves(HeadlessGame game, long entry) {
+		var player = game.getOpponentHandler().getCurrent();
+		var pieces = game.getPieceHandler();
+		var board = player.getQuiltboard();
+		var reachable = game.getReachable();
+		var moves = new int[reachable + 1];
+		var rates = new double[reachable + 1];
+		var count = 0;
+		for (int i = -1; i < reachable; i++) {
+			var rate = 1.0;
+			if (i >= 0) {
+				var piece = pieces.getPiece(i);
+				if (!player.canBuyPiece(piece) || !board.canPlace(piece)) {
+					continue;
+				}
+				rate = GreedyStrategy.rate(game.getTimeBoard(), player, piece);
+			}
+			if (entry != TranspositionTable.MISSING && TranspositionTable.move(entry) == i) {
+				rate = Double.POSITIVE_INFINITY;
+			}
+			var j = count++;
+			for (; j > 0 && rates[j - 1] < rate; j--) {
+				moves[j] = moves[j - 1];
+				rates[j] = rates[j - 1];
+			}
+			moves[j] = i;
+			rates[j] = rate;
+		}
+		return Arrays.copyOf(moves, count);
+	}
+
+	/**
+	 * Strategy of the players of the copy : it plays the move the search is
+	 * trying and places the pieces like the search does.
+	 */
+	private static final class Simulation implements IStrategy {
+		private final GreedyStrategy _placement;
+		private int _move;
+
+		/**
+		 * Constructs a new Simulation.
+		 *
+		 * @param placement : the strategy placing the pieces
+		 */
+		private Simulation(GreedyStrategy placement) {
+			_placement = placement;
+		}
+
+		/**
+		 * Sets the move played by the next turn of a player.
+		 *
+		 * @param move : the piece bought, -1 to skip
+		 */
+		private void force(int move) {
+			_move = move;
+		}
+
+		@Override
+		public int choosePiece(HeadlessGame game, IOpponent player, int reachable) {
+			return _move;
+		}
+
+		@Override
+		public Placement place(HeadlessGame game, IOpponent player, Piece piece) {
+			return _placement.place(game, player, piece);
+		}
+
+		@Override
+		public Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces) {
+			return _placement.chooseOptionalPiece(game, player, pieces);
+		}
+	}
+}
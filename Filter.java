@@ -1,6 +1,5 @@
 package fr.uge.patchwork;
 
-import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -46,6 +45,20 @@ public record Filter(Constants filterId) {
 		};
 	}
 	
+	/**
+	 * Returns the int corresponding to the filterId, the inverse of readFilter.
+	 * @return int indicating the filterId of this Filter.
+	 */
+	public int toInt() {
+		return switch(filterId) {
+			case LESS_MOVE -> 0;
+			case MOST_BUTTON -> 1;
+			case BIGGEST_PIECE -> 2;
+			case FARTHEST_PIECE -> 3;
+			default -> throw new IllegalStateException("Unexpected value: " + filterId);
+		};
+	}
+	
 	/**
 	 * Apply the filter of this Filter object on the given list pieces using its filterId.
 	 * @param pieces : The list that contains the pieces to filter.
@@ -53,13 +66,12 @@ public record Filter(Constants filterId) {
 	 * @param playerPos : Position of the player.
 	 * @return the filtered list.
 	 */
-	public ArrayList<Piece> applyFilter(ArrayList<Piece> pieces, int automaPos, int playerPos) {
+	public List<Piece> applyFilter(List<Piece> pieces, int automaPos, int playerPos) {
 		Objects.requireNonNull(pieces);
 		if (automaPos < 0 || playerPos < 0) {
 			throw new IllegalArgumentException("Invalid position");
 		}
-		var filteredList = new ArrayList<Piece>();
-		Objects.requireNonNull(pieces);
+		List<Piece> filteredList;
 		if (pieces.size() < 2) {
 			throw new IllegalArgumentException("List pieces must at least contain 2 element");
 		}
@@ -83,7 +95,7 @@ public record Filter(Constants filterId) {
 	 * @param playerPos : Position of the player.
 	 * @return the filtered list.
 	 */
-	private ArrayList<Piece> keepTurnFilter(ArrayList<Piece> pieces, int automaPos, int playerPos) {
+	private List<Piece> keepTurnFilter(List<Piece> pieces, int automaPos, int playerPos) {
 		 var newPieces = new ArrayList<Piece>();
 		 Piece piece;
 		 for (int i = 0; i < pieces.size(); i++) {
@@ -105,14 +117,17 @@ public record Filter(Constants filterId) {
 		var newPieces = new ArrayList<Piece>();
 		Piece piece;
 		newPieces.add(pieces.get(0));
+		var most = pieces.get(0).getFeatures().buttons();
 		
 		for (int i = 1; i < pieces.size(); i++) {
 		  piece = pieces.get(i);
-			if (piece.getButtons() > newPieces.get(0).getButtons()) {
-				newPieces = new ArrayList<Piece>();
+		  var buttons = piece.getFeatures().buttons();
+			if (buttons > most) {
+				newPieces.clear();
 				newPieces.add(piece);
+				most = buttons;
 			}
-			else if (piece.getButtons() == newPieces.get(0).getButtons()) {
+			else if (buttons == most) {
 				newPieces.add(piece);
 			}
 		}
@@ -130,14 +145,17 @@ public record Filter(Constants filterId) {
 		var newPieces = new ArrayList<Piece>();
 		Piece piece;
 		newPieces.add(pieces.get(0));
+		var largest = pieces.get(0).getFeatures().area();
 		
 		for (int i = 1; i < pieces.size(); i++) {
 		  piece = pieces.get(i);
-			if (piece.getNumberOfBodyParts() > newPieces.get(0).getNumberOfBodyParts()) {
+		  var area = piece.getFeatures().area();
+			if (area > largest) {
 				newPieces.clear();
 				newPieces.add(piece);
+				largest = area;
 			}
-			else if (piece.getNumberOfBodyParts() == newPieces.get(0).getNumberOfBodyParts()) {
+			else if (area == largest) {
 				newPieces.add(piece);
 			}
 		}
@@ -154,22 +172,4 @@ public record Filter(Constants filterId) {
 		newPieces.add(pieces.get(pieces.size() - 1));
 		return newPieces;
 	}
-
-	public void drawFilter(Graphics2D graphics, int x, int y) {
-		Objects.requireNonNull(graphics);
-		switch(filterId) {
-		case LESS_MOVE -> graphics.drawString("Keeps its turn", x, y);
-		case MOST_BUTTON -> {
-			graphics.drawString("Piece with the", x, y);
-			graphics.drawString("most buttons", x, y + 9);
-		}
-		case BIGGEST_PIECE -> graphics.drawString("Biggest piece", x, y);
-		case FARTHEST_PIECE -> {
-			graphics.drawString("Farthest piece from", x, y);
-			graphics.drawString("neutral token", x, y + 9);
-		}
-		default -> throw new IllegalArgumentException("Unexpected value: " + filterId);
-		}
-		
-	}
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package fr.uge.patchwork;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.Scanner;
 
@@ -16,7 +18,9 @@ import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 
 /**
- * This class contains the main loop of the game.
+ * This class contains the main loop of the game. A player may be played by the
+ * computer : its turns are played by its strategy in a headless game kept in
+ * the state of this game.
  * 
  * @author COUSSON Sophie
  * @author FRAIZE Victor
@@ -28,6 +32,14 @@ public class Game {
 	private final PieceHandler _pieceHandler;
 	private final Constants _chosenVersion;
 	private final Menu _menu;
+	private final TimeBoardView _timeBoardView;
+	private final CardHandlerView _cardHandlerView;
+	private final OpponentHandlerView _opponentHandlerView;
+	private final PieceHandlerView _pieceHandlerView;
+	private PieceView _pieceView;
+	private final IStrategy[] _strategies;
+	private HeadlessGame _mirror;
+	private ExpectimaxStrategy _hints;
 
 	/**
 	 * Constructs a new Game object with the given non null TimeBoard,
@@ -40,11 +52,32 @@ public class Game {
 	 */
 	public Game(TimeBoard timeBoard, OpponentHandler playerHandler, PieceHandler pieceHandler, CardHandler cardHandler,
 			Constants version) {
+		this(timeBoard, playerHandler, pieceHandler, cardHandler, version, new IStrategy[2]);
+	}
+
+	/**
+	 * Constructs a new Game object whose players with a strategy are played by
+	 * the computer.
+	 * 
+	 * @param timeBoard     : the time board
+	 * @param playerHandler : the player handler
+	 * @param pieceHandler  : the piece handler
+	 * @param version       : the given version of the game
+	 * @param strategies    : the strategy of each opponent, null for a human or
+	 *                      an automa
+	 */
+	public Game(TimeBoard timeBoard, OpponentHandler playerHandler, PieceHandler pieceHandler, CardHandler cardHandler,
+			Constants version, IStrategy[] strategies) {
 		Objects.requireNonNull(timeBoard);
 		Objects.requireNonNull(playerHandler);
 		Objects.requireNonNull(pieceHandler);
 		Objects.requireNonNull(cardHandler);
 		Objects.requireNonNull(version);
+		Objects.requireNonNull(strategies);
+		if (strategies.length != 2) {
+			throw new IllegalArgumentException("there is only two players");
+		}
+		_strategies = strategies.clone();
 
 		_timeBoard = timeBoard;
 		_cardHandler = cardHandler;
@@ -52,6 +85,83 @@ public class Game {
 		_pieceHandler = pieceHandler;
 		_chosenVersion = version;
 		_menu = new Menu();
+		_timeBoardView = new TimeBoardView(timeBoard);
+		_cardHandlerView = new CardHandlerView(cardHandler);
+		_opponentHandlerView = new OpponentHandlerView(playerHandler);
+		_pieceHandlerView = new PieceHandlerView(pieceHandler);
+	}
+
+	/**
+	 * Captures the current state of the game.
+	 * 
+	 * @return the state
+	 */
+	public GameState getState() {
+		return GameState.capture(_timeBoard, _opponentHandler, _pieceHandler, _cardHandler);
+	}
+
+	/**
+	 * Puts the game back in the given state, captured from this game or from a
+	 * game built the same way.
+	 * 
+	 * @param state : the state
+	 */
+	public void setState(GameState state) {
+		Objects.requireNonNull(state);
+		state.apply(_timeBoard, _opponentHandler, _pieceHandler, _cardHandler);
+	}
+
+	/**
+	 * Returns a headless game in the current state of this game, whose players
+	 * are played by their strategies. The turns of the humans are never played
+	 * in it, they get the default strategy.
+	 * 
+	 * @return the headless game
+	 */
+	private HeadlessGame mirror() {
+		var state = getState();
+		if (_mirror != null) {
+			_mirror.setState(state);
+			return _mirror;
+		}
+		var strategies = new IStrategy[2];
+		for (int i = 0; i < 2; i++) {
+			strategies[i] = (_strategies[i] != null) ? _strategies[i] : new GreedyStrategy();
+		}
+		try {
+			_mirror = GameFactory.buildHeadless(_chosenVersion, _cardHandler.getDeck(), _opponentHandler, strategies,
+					state, new GameRandom());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return _mirror;
+	}
+
+	/**
+	 * Searches the best move of the current player and shows it under the menu.
+	 */
+	private void showHint() {
+		if (_hints == null) {
+			_hints = new ExpectimaxStrategy(ExpectimaxStrategy.DEFAULT_BUDGET, new EndgameSolver());
+		}
+		var hint = _hints.hint(mirror());
+		var depth = "searched " + hint.depth() + " turns ahead";
+		if (hint.piece() < 0) {
+			_menu.setHint("Hint : skip the turn", depth);
+			return;
+		}
+		var placement = hint.placement();
+		_menu.setHint("Hint : buy the piece " + (hint.piece() + 1),
+				"at column " + (placement.x() + 1) + ", line " + (placement.y() + 1), depth);
+	}
+
+	/**
+	 * Handles a turn of a player played by the computer.
+	 */
+	private void computerTurn() {
+		var mirror = mirror();
+		mirror.playTurn();
+		setState(mirror.getState());
 	}
 
 	/**
@@ -98,8 +208,7 @@ public class Game {
 			} else {
 				_opponentHandler.getCurrent().buyPiece(_pieceHandler.getPiece(playerChoice.getValue()), scanner, _timeBoard,
 						_chosenVersion);
-				_pieceHandler.remove(_pieceHandler.getPiece(playerChoice.getValue()));
-				_pieceHandler.moveNeutralPawn(playerChoice.getValue());
+				_pieceHandler.buy(playerChoice.getValue());
 				if (_chosenVersion == Constants.PHASE2) {
 					_opponentHandler.updateSpecialTile();
 				}
@@ -124,8 +233,9 @@ public class Game {
 	 */
 	private int placingPhase(IOpponent player, Piece piece, ApplicationContext context) {
 		int x = 0, y = 0;
+		int gridSize = player.getQuiltboard().getSize();
 		Piece initial = piece;
-		drawPlacingPhase(context, piece, player, x, y, true);
+		drawPlacingPhase(context, piece, x, y);
 		while (true) {
 			Event event = context.pollOrWaitEvent(10);
 			if (event == null) { // no event
@@ -136,18 +246,18 @@ public class Game {
 				if (event.getKey().equals(KeyboardKey.LEFT) && y > 0) {
 					y--;
 				} else if (event.getKey().equals(KeyboardKey.RIGHT)
-						&& (y + piece.getXSize()) < Constants.GRID_SIZE.getValue()) {
+						&& (y + piece.getXSize()) < gridSize) {
 					y++;
 				}
 				if (event.getKey().equals(KeyboardKey.UP) && x > 0) {
 					x--;
-				} else if (event.getKey().equals(KeyboardKey.DOWN) && (x + piece.getYSize()) < Constants.GRID_SIZE.getValue()) {
+				} else if (event.getKey().equals(KeyboardKey.DOWN) && (x + piece.getYSize()) < gridSize) {
 					x++;
 				}
 				if (event.getKey().equals(KeyboardKey.F)) {
 					piece = piece.flip();
-					y = xValueAfterFlip(piece, y);
-					x = yValueAfterFlip(piece, x);
+					y = xValueAfterFlip(piece, y, gridSize);
+					x = yValueAfterFlip(piece, x, gridSize);
 				} else if (event.getKey().equals(KeyboardKey.R)) {
 					piece = piece.reverse();
 				} else if (event.getKey().equals(KeyboardKey.Q)) {
@@ -168,7 +278,7 @@ public class Game {
 						return 1;
 					}
 				}
-				drawPlacingPhase(context, piece, player, x, y, false);
+				drawPlacingPhase(context, piece, x, y);
 			}
 		}
 	}
@@ -241,6 +351,9 @@ public class Game {
 			} else if (event.getKey().equals(KeyboardKey.P)) { // displays the pieceHandler
 				_pieceHandler.setDisplay(true);
 				return 0;
+			} else if (event.getKey().equals(KeyboardKey.H)) { // shows the best move
+				showHint();
+				return pieceNumber;
 			} else if (event.getKey().equals(KeyboardKey.Q)) { // exit
 				context.exit(0);
 				return 0;
@@ -266,6 +379,7 @@ public class Game {
 			played = true;
 		}
 		if (played) {
+			_menu.setHint();
 			_opponentHandler.updateSpecialTile();
 			_opponentHandler.updateCurrentPlayer(_timeBoard);
 			return 0;
@@ -300,14 +414,16 @@ public class Game {
 				}
 				Action action = event.getAction();
 				if (action == Action.KEY_PRESSED) {
-					if (_opponentHandler.getCurrent().getClass().equals(Player.class)) {
+					if (_strategies[_opponentHandler.getCurrentIndex()] != null) {
+						computerTurn();
+					} else if (_opponentHandler.getCurrent().getClass().equals(Player.class)) {
 						pieceNumber = eventHandeling(context, event, played, pieceNumber);
 					} else {
 						automaTurn();
 					}
 				}
 			}
-			context.renderFrame(graphics -> _opponentHandler.drawVictory(graphics, height, width));
+			context.renderFrame(graphics -> _opponentHandlerView.drawVictory(graphics, height, width));
 			try {
 				Thread.sleep(2000);
 			} catch (InterruptedException e) {
@@ -347,8 +463,12 @@ public class Game {
 				x = width / 2 - width / 10;
 				y += size;
 			}
-			pieces[i].SetGraphicalProperties(x + 10, y + 10, Constants.PIECE_SQUARE.getValue());
-			pieces[i].onDraw(graphics);
+			if (_pieceView == null) {
+				_pieceView = new PieceView(pieces[i]);
+			}
+			_pieceView.setPiece(pieces[i]);
+			_pieceView.SetGraphicalProperties(x + 10, y + 10, Constants.PIECE_SQUARE.getValue());
+			_pieceView.draw(graphics);
 			x += size;
 		}
 	}
@@ -423,17 +543,17 @@ public class Game {
 			float quiltBoardPos) {
 		graphics.setColor(Color.LIGHT_GRAY);
 		graphics.fill(new Rectangle2D.Float(0, 0, width, height));
-		_timeBoard.SetGraphicalProperties(0, 0, width, Constants.BOX_SIZE.getValue());
-		_timeBoard.draw(graphics);
-		_pieceHandler.SetGraphicalProperties(pieceHandlerPos, Constants.BOX_SIZE.getValue(), width, height);
-		_pieceHandler.draw(graphics);
-		_opponentHandler.SetGraphicalProperties(10, quiltBoardPos, pieceHandlerPos, height - Constants.BOX_SIZE.getValue());
-		_opponentHandler.draw(graphics);
-		_opponentHandler.drawAutomaStats(graphics);
-		_cardHandler.draw(graphics);
+		_timeBoardView.SetGraphicalProperties(0, 0, width, Constants.BOX_SIZE.getValue());
+		_timeBoardView.draw(graphics);
+		_pieceHandlerView.SetGraphicalProperties(pieceHandlerPos, Constants.BOX_SIZE.getValue(), width, height);
+		_pieceHandlerView.draw(graphics);
+		_opponentHandlerView.SetGraphicalProperties(10, quiltBoardPos, pieceHandlerPos, height - Constants.BOX_SIZE.getValue());
+		_opponentHandlerView.draw(graphics);
+		_opponentHandlerView.drawAutomaStats(graphics);
+		_cardHandlerView.draw(graphics);
 		_menu.draw(graphics);
 		if (_pieceHandler.getDisplay()) {
-			_pieceHandler.action(graphics, height, width, pieceNumber);
+			_pieceHandlerView.action(graphics, height, width, pieceNumber);
 		}
 	}
 
@@ -451,11 +571,12 @@ public class Game {
 	 * 
 	 * @param piece the new piece
 	 * @param y     the current value of y
+	 * @param gridSize the size of the quilt board
 	 * @return the new value of y
 	 */
-	private int yValueAfterFlip(Piece piece, int y) {
-		if (y + piece.getYSize() >= Constants.GRID_SIZE.getValue()) {
-			return Constants.GRID_SIZE.getValue() - piece.getYSize();
+	private int yValueAfterFlip(Piece piece, int y, int gridSize) {
+		if (y + piece.getYSize() >= gridSize) {
+			return gridSize - piece.getYSize();
 		}
 		return y;
 	}
@@ -465,11 +586,12 @@ public class Game {
 	 * 
 	 * @param piece the new piece
 	 * @param y     the current value of x
+	 * @param gridSize the size of the quilt board
 	 * @return the new value of x
 	 */
-	private int xValueAfterFlip(Piece piece, int x) {
-		if (x + piece.getXSize() >= Constants.GRID_SIZE.getValue()) {
-			return Constants.GRID_SIZE.getValue() - piece.getXSize();
+	private int xValueAfterFlip(Piece piece, int x, int gridSize) {
+		if (x + piece.getXSize() >= gridSize) {
+			return gridSize - piece.getXSize();
 		}
 		return x;
 	}
@@ -480,21 +602,15 @@ public class Game {
 	 * 
 	 * @param context
 	 * @param piece     the piece selected
-	 * @param player    the players that plays
 	 * @param x         the coordinate on the board
 	 * @param y         the coordinate on the board
-	 * @param drawPiece indicate if it's necessary to draw the piece twice
 	 */
-	private void drawPlacingPhase(ApplicationContext context, Piece piece, IOpponent player, int x, int y,
-			boolean drawPiece) {
+	private void drawPlacingPhase(ApplicationContext context, Piece piece, int x, int y) {
 		context.renderFrame(graphics -> {
-			_opponentHandler.cleanSpace(graphics);
+			_opponentHandlerView.cleanSpace(graphics);
 			_menu.pieceMenu(graphics);
-			_opponentHandler.draw(graphics);
-			if (drawPiece) {
-				piece.draw(graphics);
-			}
-			player.getQuiltboard().drawPiece(graphics, piece, y, x);
+			_opponentHandlerView.draw(graphics);
+			_opponentHandlerView.drawPiece(graphics, piece, y, x);
 		});
 	}
 
@@ -1,8 +1,6 @@
 package fr.uge.patchwork;
 
 import java.io.IOException;
-import java.nio.file.Path;
-import java.util.Collections;
 import java.util.Objects;
 import java.util.Scanner;
 
@@ -10,7 +8,7 @@ import java.util.Scanner;
  * The class stores an array of players the version chosen by the players and a scanner
  * This class allows the construction of the the class Game.
  * It implements IGameVersionSelector, IGamePlayerSelector, IGameBuilder to force the user to 
- * initialize the game in the right order.
+ * initialize the game in the right order. The files of the version are loaded by GameFactory.
  * 
  * @author COUSSON Sophie
  * @author FRAIZE Victor
@@ -18,8 +16,10 @@ import java.util.Scanner;
 public class GameBuilder implements IGameVersionSelector, IGamePlayerSelector, IGameBuilder {
 	
 	private IOpponent[] _opponents;
+	private final IStrategy[] _strategies = new IStrategy[2];
 	private Constants _chosenVersion;
 	private final Scanner _scanner;
+	private final int _gridSize;
 	
 	/**
 	* The method creates a new GameBuilder
@@ -29,17 +29,33 @@ public class GameBuilder implements IGameVersionSelector, IGamePlayerSelector, I
 	* @return IGameVersionSelector
 	*/
 	public static IGameVersionSelector getVersionSelector(Scanner scan) {
+		return getVersionSelector(scan, Constants.GRID_SIZE.getValue());
+	}
+	
+	/**
+	* The method creates a new GameBuilder whose players have quilt boards of the given size
+	*
+	* @param scan : a scanner
+	* @param gridSize : number of cells on a side of the quilt boards
+	* @return IGameVersionSelector
+	*/
+	public static IGameVersionSelector getVersionSelector(Scanner scan, int gridSize) {
 		Objects.requireNonNull(scan);
-		return new GameBuilder(scan);
+		if (gridSize <= 0 || gridSize > BitBoard.MAX_SIZE) {
+			throw new IllegalArgumentException("The size of the quilt boards must be between 1 and " + BitBoard.MAX_SIZE);
+		}
+		return new GameBuilder(scan, gridSize);
 	}
 	
 	/**
 	* The method is the constructor of the class it takes a scanner and puts it on _scanner
 	*
 	* @param scan : a scanner
+	* @param gridSize : number of cells on a side of the quilt boards
 	*/
-	private GameBuilder(Scanner scan) {
+	private GameBuilder(Scanner scan, int gridSize) {
 		_scanner = scan;
+		_gridSize = gridSize;
 	}
 	
 	/**
@@ -77,7 +93,7 @@ public class GameBuilder implements IGameVersionSelector, IGamePlayerSelector, I
 		do {
 			System.out.println("Enter 'd' to play to the demo ascii version");
 			System.out.println("      'a' to play to the complete ascii version");
- 			System.out.println("      'g' to play to the graphic version with a friend");
+ 			System.out.println("      'g' to play to the graphic version with a friend or the computer");
  			System.out.println("      's' to play to the graphic version alone");
 			System.out.println("      'o' if you want to try an orignial version");
 			_chosenVersion = readVersion(_scanner.next());
@@ -135,6 +151,25 @@ public class GameBuilder implements IGameVersionSelector, IGamePlayerSelector, I
  		return difficulty;
  	}
 	
+	/**
+ 	 * Asks whether the second player is a human or the computer and returns the
+ 	 * strategy of the computer.
+ 	 * @return the strategy of the second player, null for a human.
+ 	 */
+	private IStrategy chooseOpponent() {
+		while (true) {
+			System.out.println("Enter 'h' to play against a friend");
+			System.out.println("      'm' to play against the computer (Monte Carlo tree search)");
+			System.out.println("      'e' to play against the computer (expectimax search)");
+			switch (_scanner.next()) {
+			case "h" -> { return null; }
+			case "m" -> { return new MctsStrategy(); }
+			case "e" -> { return new ExpectimaxStrategy(ExpectimaxStrategy.DEFAULT_BUDGET, new EndgameSolver()); }
+			default -> { }
+			}
+		}
+	}
+	
 	/**
 	 * The method adds player to the players' array and allows to go to the next
 	 * step (building the game)
@@ -150,13 +185,22 @@ public class GameBuilder implements IGameVersionSelector, IGamePlayerSelector, I
  		case PHASE4 -> {
  			getNames(names, 1);
  			difficulty = getDifficulty();
- 			_opponents[0] = new Player(names[0], "Blue");
+ 			_opponents[0] = new Player(names[0], "Blue", _gridSize);
  			_opponents[1] = new Automa(difficulty, 54);
  		  }
  		default -> {
- 			getNames(names, 2);
- 			_opponents[0] = new Player(names[0], "Blue");
- 			_opponents[1] = new Player(names[1], "Red");
+ 			// only the graphic versions can be played by the computer
+ 			if (_chosenVersion == Constants.PHASE3 || _chosenVersion == Constants.PHASE5) {
+ 				_strategies[1] = chooseOpponent();
+ 			}
+ 			if (_strategies[1] == null) {
+ 				getNames(names, 2);
+ 			} else {
+ 				getNames(names, 1);
+ 				names[1] = "Computer";
+ 			}
+ 			_opponents[0] = new Player(names[0], "Blue", _gridSize);
+ 			_opponents[1] = new Player(names[1], "Red", _gridSize);
  			}
  		}
 		return this;
@@ -200,90 +244,21 @@ public class GameBuilder implements IGameVersionSelector, IGamePlayerSelector, I
 	 */
 	public Game build() {
 		var chosenDeck = chooseDeck();
-		var timeBoard = new TimeBoard();
-		var pieces = PieceHandler.Handler();
+		var random = new GameRandom();
+		var timeBoard = new TimeBoard(random.split());
+		var pieces = new PieceHandler();
 		var players = new OpponentHandler(_opponents, !_chosenVersion.equals("d"));
- 		var cards = new CardHandler();
+ 		var cards = new CardHandler(random.split());
 		
- 		var boardFile = _chosenVersion == Constants.PHASE1 ? "load_time_board_demo" : "load_time_board";
-		var pieceFile = _chosenVersion == Constants.PHASE1 ? "load_phase1" : "load_Normal";
-		var cardFile = (chosenDeck == Constants.DEFAULT) ? null : 
-			 (chosenDeck == Constants.NORMAL_DECK) ? "load_normal_deck" : "load_tactical_deck" ;
-		
-		init(boardFile, pieceFile, cardFile, timeBoard, pieces, players, cards, chosenDeck);
-		
-		return new Game(timeBoard, players, pieces, cards, _chosenVersion); 
-	}
-	
-	/**
-	 * The method uses two files to initializes the timeBoard and the pieceHandler 
-	 * 
-	 * @param boardFile : file containing the informations of the TimeBoard
-	 * @param pieceFile : file containing the informations of all the pieces
-	 * @param timeBoard : the time board
-	 * @param pieceHandler : the piece handler
-	 * @param players : the list containing the players
-	 */
-	private void init(String boardFile, String pieceFile, String cardFile, TimeBoard timeBoard, PieceHandler pieceHandler, 
-				OpponentHandler players, CardHandler cards, Constants deck) {
-		initTimeBoard(boardFile, timeBoard);
-		initPieceHandler(pieceFile, pieceHandler);
-		timeBoard.initPlayerPawns(players, 2);
-		initCards(cards, cardFile, deck);
-	}
-	
-	/**
-	 * Initializes the deck of cards.
-	 * @param cards : the deck to initialize.
-	 * @param file : path to the file containing the cards.
-	 * @param deck : indicates wich deck we use.
-	 */
-	private void initCards(CardHandler cards, String file, Constants deck) {
- 		try {
- 			if (file != null) {
- 				cards.loadCards(Path.of(file), deck);
- 			}
- 		} catch (IOException e) {
- 			System.err.println(e.getMessage());
- 			System.exit(1);
- 			_scanner.close();
- 			return;
- 		}
- 	}
-	
-	/**
-	 * The method initializes the timeBoard by reading each line of the file given 
-	 * 
-	 * @param file : the file containing the information
-	 * @param timeBoard : the time board
-	 */
-	private void initTimeBoard(String file, TimeBoard timeBoard) {
 		try {
-			timeBoard.loadTimeBoard(Path.of(file));
+			GameFactory.init(_chosenVersion, chosenDeck, _gridSize, timeBoard, pieces, cards, AssetBundle.getDefault(), random);
 		} catch (IOException e) {
 			System.err.println(e.getMessage());
-			System.exit(1);
 			_scanner.close();
-			return;
-		}
-	}
-
-	/**
-	 * The method initializes the pieceHandler by reading each line of the file given
-	 * 
-	 * @param file : the file containing the information
-	 * @param pieceHandler : the piece handler
-	 */
-	private void initPieceHandler(String file, PieceHandler piecHandler) {
-		try {
-			piecHandler.loadPieces(Path.of(file));
-			Collections.shuffle(piecHandler.getPieces());
-		} catch (IOException e) {
-			System.err.println(e.getMessage());
 			System.exit(1);
-			_scanner.close();
-			return;
 		}
+		timeBoard.initPlayerPawns(players, 2);
+		
+		return new Game(timeBoard, players, pieces, cards, _chosenVersion, _strategies); 
 	}
 }
-	
@@ -0,0 +1,175 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * This class builds the games without asking anything and loads the time
+ * board, the pieces and the deck of a version of the game. It only depends on
+ * the model, so the headless games can be built and run without AWT or zen5 on
+ * the classpath, the {@link GameBuilder} of the graphic game relies on it.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class GameFactory {
+	private GameFactory() {
+	}
+	
+	/**
+	 * The method builds a new game without asking anything, every decision of the
+	 * players being taken by the given strategies.
+	 * 
+	 * @param version : the version of the game
+	 * @param deck : the deck of the automa, DEFAULT without automa
+	 * @param opponents : the two opponents
+	 * @param strategies : the strategy of each opponent, null for an automa
+	 * @return HeadlessGame
+	 * @throws IOException : if a file can't be read
+	 */
+	public static HeadlessGame buildHeadless(Constants version, Constants deck, IOpponent[] opponents,
+			IStrategy[] strategies) throws IOException {
+		return buildHeadless(version, deck, opponents, strategies, new GameRandom());
+	}
+	
+	/**
+	 * The method builds a new game without asking anything whose random choices
+	 * all come from the given random, so that a game can be replayed from its seed.
+	 * 
+	 * @param version : the version of the game
+	 * @param deck : the deck of the automa, DEFAULT without automa
+	 * @param opponents : the two opponents
+	 * @param strategies : the strategy of each opponent, null for an automa
+	 * @param random : the random of the game
+	 * @return HeadlessGame
+	 * @throws IOException : if a file can't be read
+	 */
+	public static HeadlessGame buildHeadless(Constants version, Constants deck, IOpponent[] opponents,
+			IStrategy[] strategies, GameRandom random) throws IOException {
+		Objects.requireNonNull(version);
+		Objects.requireNonNull(deck);
+		Objects.requireNonNull(opponents);
+		Objects.requireNonNull(random);
+		var timeBoard = new TimeBoard(random.split());
+		var pieces = new PieceHandler();
+		var players = new OpponentHandler(opponents, true);
+		var cards = new CardHandler(random.split());
+		init(version, deck, opponents[0].getQuiltboard().getSize(), timeBoard, pieces, cards, AssetBundle.getDefault(),
+				random);
+		timeBoard.initPlayerPawns(players, 2);
+		return new HeadlessGame(timeBoard, players, pieces, cards, version, strategies);
+	}
+	
+	/**
+	 * The method builds a new game without asking anything, with the same kinds
+	 * of opponents as the given ones and in the given state, so that a game can be
+	 * played on from a position of another game built the same way.
+	 * 
+	 * @param version : the version of the game
+	 * @param deck : the deck of the automa, DEFAULT without automa
+	 * @param opponents : the opponents of the other game
+	 * @param strategies : the strategy of each player, ignored for an automa
+	 * @param state : the state of the other game
+	 * @param random : the random of the game
+	 * @return HeadlessGame
+	 * @throws IOException : if a file can't be read
+	 */
+	public static HeadlessGame buildHeadless(Constants version, Constants deck, OpponentHandler opponents,
+			IStrategy[] strategies, GameState state, GameRandom random) throws IOException {
+		Objects.requireNonNull(opponents);
+		Objects.requireNonNull(strategies);
+		Objects.requireNonNull(state);
+		var copies = new IOpponent[2];
+		var players = new IStrategy[2];
+		for (int i = 0; i < 2; i++) {
+			var opponent = opponents.getOpponentIndex(i);
+			if (opponent instanceof Automa automa) {
+				copies[i] = automa.copy();
+			} else {
+				copies[i] = new Player(opponent.getName(), (i == 0) ? "Blue" : "Red", opponent.getQuiltboard().getSize());
+				players[i] = strategies[i];
+			}
+		}
+		var game = buildHeadless(version, deck, copies, players, random);
+		game.setState(state);
+		return game;
+	}
+	
+	/**
+	 * The method initializes the timeBoard, the pieceHandler and the deck of the
+	 * given version with the files of the game
+	 * 
+	 * @param version : the version of the game
+	 * @param deck : indicates wich deck we use
+	 * @param gridSize : number of cells on a side of the quilt boards
+	 * @param timeBoard : the time board
+	 * @param pieceHandler : the piece handler
+	 * @param cards : the deck to initialize
+	 * @param bundle : the compiled files, null to read the text files
+	 * @param random : the random used to color and shuffle the pieces
+	 * @throws IOException : if a file can't be read
+	 */
+	static void init(Constants version, Constants deck, int gridSize, TimeBoard timeBoard,
+			PieceHandler pieceHandler, CardHandler cards, AssetBundle bundle, GameRandom random) throws IOException {
+ 		var boardFile = version == Constants.PHASE1 ? "load_time_board_demo" : "load_time_board";
+		var pieceFile = version == Constants.PHASE1 ? "load_phase1" : "load_Normal";
+		var cardFile = (deck == Constants.DEFAULT) ? null : 
+			 (deck == Constants.NORMAL_DECK) ? "load_normal_deck" : "load_tactical_deck" ;
+		initTimeBoard(boardFile, timeBoard, bundle);
+		initPieceHandler(pieceFile, pieceHandler, gridSize, bundle, random);
+		initCards(cards, cardFile, deck, bundle);
+	}
+	
+	/**
+	 * Initializes the deck of cards.
+	 * @param cards : the deck to initialize.
+	 * @param file : path to the file containing the cards.
+	 * @param deck : indicates wich deck we use.
+	 * @param bundle : the compiled files, null to read the text files
+	 * @throws IOException : if the file can't be read
+	 */
+	private static void initCards(CardHandler cards, String file, Constants deck, AssetBundle bundle) throws IOException {
+		if (file != null && bundle != null && bundle.getCards(file) != null) {
+			cards.loadCards(bundle.getCards(file), deck);
+		} else if (file != null) {
+			cards.loadCards(Path.of(file), deck);
+		}
+ 	}
+	
+	/**
+	 * The method initializes the timeBoard by reading each line of the file given 
+	 * 
+	 * @param file : the file containing the information
+	 * @param timeBoard : the time board
+	 * @param bundle : the compiled files, null to read the text files
+	 * @throws IOException : if the file can't be read
+	 */
+	private static void initTimeBoard(String file, TimeBoard timeBoard, AssetBundle bundle) throws IOException {
+		if (bundle != null && bundle.getTimeBoard(file) != null) {
+			timeBoard.loadTimeBoard(bundle.getTimeBoard(file));
+		} else {
+			timeBoard.loadTimeBoard(Path.of(file));
+		}
+	}
+
+	/**
+	 * The method initializes the pieceHandler by reading each line of the file given
+	 * 
+	 * @param file : the file containing the information
+	 * @param pieceHandler : the piece handler
+	 * @param gridSize : number of cells on a side of the quilt boards
+	 * @param bundle : the compiled files, null to read the text files
+	 * @param random : the random used to color and shuffle the pieces
+	 * @throws IOException : if the file can't be read
+	 */
+	private static void initPieceHandler(String file, PieceHandler piecHandler, int gridSize, AssetBundle bundle,
+			GameRandom random) throws IOException {
+		if (bundle != null && bundle.getPieces(file) != null) {
+			piecHandler.loadPieces(bundle.getPieces(file), gridSize, random);
+		} else {
+			piecHandler.loadPieces(Path.of(file), gridSize, random);
+		}
+		piecHandler.shuffle(random);
+	}
+}
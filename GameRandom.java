@@ -0,0 +1,90 @@
+package fr.uge.patchwork;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class is the random of a game. Every random choice of a game, the
+ * shuffles, the colors of the pieces and the special boxes, comes from the
+ * random of the game, so a game is replayed from its seed. It is not shared
+ * between threads, a game running in parallel of another one has its own.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class GameRandom {
+	private final long _seed;
+	private final SplittableRandom _random;
+
+	/**
+	 * Constructs a new GameRandom with the given seed.
+	 *
+	 * @param seed : the seed
+	 */
+	public GameRandom(long seed) {
+		_seed = seed;
+		_random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Constructs a new GameRandom with a seed of its own, the seed can be read
+	 * to replay the game.
+	 */
+	public GameRandom() {
+		this(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Getter for the seed.
+	 *
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return _seed;
+	}
+
+	/**
+	 * Returns a new random whose seed is drawn from this random. The choices of
+	 * the new random don't change the choices of this one, so a part of the game
+	 * using it as often as it wants doesn't change the other parts.
+	 *
+	 * @return the new random
+	 */
+	public GameRandom split() {
+		return new GameRandom(_random.nextLong());
+	}
+
+	/**
+	 * Returns a random number between 0, included, and the given bound, excluded.
+	 *
+	 * @param bound : the bound, positive
+	 * @return the number
+	 */
+	public int nextInt(int bound) {
+		return _random.nextInt(bound);
+	}
+
+	/**
+	 * Returns a random boolean.
+	 *
+	 * @return the boolean
+	 */
+	public boolean nextBoolean() {
+		return _random.nextBoolean();
+	}
+
+	/**
+	 * Shuffles the given list.
+	 *
+	 * @param list : the list
+	 */
+	public void shuffle(List<?> list) {
+		Objects.requireNonNull(list);
+		for (int i = list.size() - 1; i > 0; i--) {
+			Collections.swap(list, i, _random.nextInt(i + 1));
+		}
+	}
+}
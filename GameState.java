@@ -0,0 +1,254 @@
+package fr.uge.patchwork;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class is a position of a game packed in a few arrays of primitives :
+ * the stats of the opponents, the cells of the quilt boards, the boxes of the
+ * time board, the ring of pieces and the order of the cards of the automa.
+ * The pieces and the cards are written as their index in the game, so a state
+ * can only be applied to the game it comes from or to a game built the same
+ * way. A state is never modified, capturing one only copies a few arrays and
+ * it can be shared, saved and applied as many times as needed.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class GameState {
+	private static final int MAGIC = 0x50575354; // PWST
+	private static final int CURRENT = 0;
+	private static final int SPECIAL_TILE_REMAINING = 1;
+	private static final int OPPONENTS = 2;
+	// after the stats of the two opponents : buttons and special tile of each quilt board
+	private static final int QUILT_BOARDS = OPPONENTS + 2 * IOpponent.STATE_SIZE;
+	private static final int STATS_SIZE = QUILT_BOARDS + 4;
+
+	private final int[] _stats;
+	private final long[] _cells;
+	private final byte[] _boxes;
+	private final byte[] _ring;
+	private final byte[] _pile;
+	private final byte[] _discard;
+
+	/**
+	 * Constructs a new GameState with the given arrays, they are not copied.
+	 *
+	 * @param stats : stats of the opponents and of their quilt boards
+	 * @param cells : cells of the quilt boards of the players
+	 * @param boxes : codes of the boxes of the time board
+	 * @param ring : ids of the pieces from the neutral pawn
+	 * @param pile : indexes of the cards of the pile
+	 * @param discard : indexes of the cards of the discard
+	 */
+	private GameState(int[] stats, long[] cells, byte[] boxes, byte[] ring, byte[] pile, byte[] discard) {
+		_stats = stats;
+		_cells = cells;
+		_boxes = boxes;
+		_ring = ring;
+		_pile = pile;
+		_discard = discard;
+	}
+
+	/**
+	 * Captures the state of the game made of the given objects.
+	 *
+	 * @param timeBoard : the time board
+	 * @param opponentHandler : the opponent handler
+	 * @param pieceHandler : the piece handler
+	 * @param cardHandler : the deck of the automa
+	 * @return the state
+	 */
+	public static GameState capture(TimeBoard timeBoard, OpponentHandler opponentHandler, PieceHandler pieceHandler,
+			CardHandler cardHandler) {
+		Objects.requireNonNull(timeBoard);
+		Objects.requireNonNull(opponentHandler);
+		Objects.requireNonNull(pieceHandler);
+		Objects.requireNonNull(cardHandler);
+		var stats = new int[STATS_SIZE];
+		stats[CURRENT] = opponentHandler.getCurrentIndex();
+		stats[SPECIAL_TILE_REMAINING] = opponentHandler.specialTileRemaining() ? 1 : 0;
+		var cells = new long[cellCount(opponentHandler)];
+		var offset = 0;
+		for (int i = 0; i < 2; i++) {
+			var opponent = opponentHandler.getOpponentIndex(i);
+			opponent.saveState(stats, OPPONENTS + i * IOpponent.STATE_SIZE);
+			if (opponent instanceof Player) {
+				var board = opponent.getQuiltboard();
+				board.saveCells(cells, offset);
+				offset += BitBoard.wordCount(board.getSize());
+				stats[QUILT_BOARDS + 2 * i] = board.getButtons();
+				stats[QUILT_BOARDS + 2 * i + 1] = board.checkSpecialTile() ? 1 : 0;
+			}
+		}
+		return new GameState(stats, cells, timeBoard.saveBoxes(), pieceHandler.saveRing(), cardHandler.savePile(),
+				cardHandler.saveDiscard());
+	}
+
+	/**
+	 * Puts the game made of the given objects back in this state. The game must
+	 * be the one the state was captured from or a game built the same way.
+	 *
+	 * @param timeBoard : the time board
+	 * @param opponentHandler : the opponent handler
+	 * @param pieceHandler : the piece handler
+	 * @param cardHandler : the deck of the automa
+	 */
+	public void apply(TimeBoard timeBoard, OpponentHandler opponentHandler, PieceHandler pieceHandler,
+			CardHandler cardHandler) {
+		Objects.requireNonNull(timeBoard);
+		Objects.requireNonNull(opponentHandler);
+		Objects.requireNonNull(pieceHandler);
+		Objects.requireNonNull(cardHandler);
+		if (_boxes.length != timeBoard.getSize() || _cells.length != cellCount(opponentHandler)) {
+			throw new IllegalArgumentException("The state doesn't belong to this game");
+		}
+		opponentHandler.restore(_stats[CURRENT], _stats[SPECIAL_TILE_REMAINING] != 0);
+		var offset = 0;
+		for (int i = 0; i < 2; i++) {
+			var opponent = opponentHandler.getOpponentIndex(i);
+			opponent.restoreState(_stats, OPPONENTS + i * IOpponent.STATE_SIZE);
+			if (opponent instanceof Player) {
+				var board = opponent.getQuiltboard();
+				board.restore(_cells, offset, _stats[QUILT_BOARDS + 2 * i], _stats[QUILT_BOARDS + 2 * i + 1] != 0);
+				offset += BitBoard.wordCount(board.getSize());
+			}
+		}
+		timeBoard.restoreBoxes(_boxes);
+		// the current opponent is the last one arrived on its box, it stays on top
+		var current = _stats[CURRENT];
+		var other = opponentHandler.getOpponentIndex(1 - current);
+		timeBoard.getBoard().get(other.getPosition()).add(other);
+		var first = opponentHandler.getOpponentIndex(current);
+		timeBoard.getBoard().get(first.getPosition()).add(first);
+		pieceHandler.restoreRing(_ring);
+		cardHandler.restore(_pile, _discard);
+	}
+
+	/**
+	 * Returns the index of the opponent that plays next.
+	 *
+	 * @return index of the current opponent
+	 */
+	public int getCurrentIndex() {
+		return _stats[CURRENT];
+	}
+
+	/**
+	 * Returns the position of the given opponent on the time board.
+	 *
+	 * @param opponent : index of the opponent
+	 * @return the position
+	 */
+	public int getPosition(int opponent) {
+		return _stats[OPPONENTS + Objects.checkIndex(opponent, 2) * IOpponent.STATE_SIZE];
+	}
+
+	/**
+	 * Returns the number of buttons the given opponent owns.
+	 *
+	 * @param opponent : index of the opponent
+	 * @return the number of buttons
+	 */
+	public int getButtons(int opponent) {
+		return _stats[OPPONENTS + Objects.checkIndex(opponent, 2) * IOpponent.STATE_SIZE + 1];
+	}
+
+	/**
+	 * Returns the number of pieces left around the neutral pawn.
+	 *
+	 * @return number of pieces
+	 */
+	public int getRingSize() {
+		return _ring.length;
+	}
+
+	/**
+	 * Writes the state in the given output.
+	 *
+	 * @param output : the output
+	 * @throws IOException : if the state can't be written
+	 */
+	public void write(DataOutput output) throws IOException {
+		Objects.requireNonNull(output);
+		output.writeInt(MAGIC);
+		for (var stat : _stats) {
+			output.writeInt(stat);
+		}
+		output.writeShort(_cells.length);
+		for (var word : _cells) {
+			output.writeLong(word);
+		}
+		for (var bytes : new byte[][] { _boxes, _ring, _pile, _discard }) {
+			output.writeShort(bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	/**
+	 * Reads a state written by write.
+	 *
+	 * @param input : the input
+	 * @return the state
+	 * @throws IOException : if the state can't be read
+	 */
+	public static GameState read(DataInput input) throws IOException {
+		Objects.requireNonNull(input);
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not a game state");
+		}
+		var stats = new int[STATS_SIZE];
+		for (int i = 0; i < stats.length; i++) {
+			stats[i] = input.readInt();
+		}
+		var cells = new long[input.readUnsignedShort()];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = input.readLong();
+		}
+		var arrays = new byte[4][];
+		for (int i = 0; i < arrays.length; i++) {
+			arrays[i] = new byte[input.readUnsignedShort()];
+			input.readFully(arrays[i]);
+		}
+		return new GameState(stats, cells, arrays[0], arrays[1], arrays[2], arrays[3]);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof GameState other && Arrays.equals(_stats, other._stats)
+				&& Arrays.equals(_cells, other._cells) && Arrays.equals(_boxes, other._boxes)
+				&& Arrays.equals(_ring, other._ring) && Arrays.equals(_pile, other._pile)
+				&& Arrays.equals(_discard, other._discard);
+	}
+
+	@Override
+	public int hashCode() {
+		var hash = Arrays.hashCode(_stats);
+		hash = hash * 31 + Arrays.hashCode(_cells);
+		hash = hash * 31 + Arrays.hashCode(_boxes);
+		hash = hash * 31 + Arrays.hashCode(_ring);
+		hash = hash * 31 + Arrays.hashCode(_pile);
+		return hash * 31 + Arrays.hashCode(_discard);
+	}
+
+	/**
+	 * Returns the number of longs taken by the cells of the quilt boards of the
+	 * players.
+	 *
+	 * @param opponentHandler : the opponent handler
+	 * @return number of longs
+	 */
+	private static int cellCount(OpponentHandler opponentHandler) {
+		var count = 0;
+		for (int i = 0; i < 2; i++) {
+			var opponent = opponentHandler.getOpponentIndex(i);
+			if (opponent instanceof Player) {
+				count += BitBoard.wordCount(opponent.getQuiltboard().getSize());
+			}
+		}
+		return count;
+	}
+}
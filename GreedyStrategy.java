@@ -0,0 +1,113 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+
+/**
+ * This class is the default strategy of a headless game. It buys the piece
+ * that brings the most points per move, counting two points per covered cell
+ * and its buttons for every income box left, and skips the turn when no piece
+ * is worth more than the button earned per move by skipping. The pieces are
+ * placed with a {@link BestFitPlacer}.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class GreedyStrategy implements IStrategy {
+	private final BestFitPlacer _placer;
+
+	/**
+	 * Constructs a new GreedyStrategy whose placement searches evaluate at most
+	 * the given number of placements.
+	 *
+	 * @param budget : maximal number of placements evaluated by a search
+	 */
+	public GreedyStrategy(int budget) {
+		_placer = new BestFitPlacer(budget);
+	}
+
+	/**
+	 * Constructs a new GreedyStrategy evaluating every placement.
+	 */
+	public GreedyStrategy() {
+		_placer = new BestFitPlacer();
+	}
+
+	@Override
+	public int choosePiece(HeadlessGame game, IOpponent player, int reachable) {
+		Objects.requireNonNull(game);
+		Objects.requireNonNull(player);
+		var board = player.getQuiltboard();
+		var pieces = game.getPieceHandler();
+		var best = -1;
+		var bestRate = 1.0;
+		for (int i = 0; i < reachable; i++) {
+			var piece = pieces.getPiece(i);
+			if (!player.canBuyPiece(piece) || !board.mayFit(piece)) {
+				continue;
+			}
+			var rate = rate(game.getTimeBoard(), player, piece);
+			if (rate > bestRate && board.canPlace(piece)) {
+				best = i;
+				bestRate = rate;
+			}
+		}
+		return best;
+	}
+
+	@Override
+	public Placement place(HeadlessGame game, IOpponent player, Piece piece) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(piece);
+		if (!_placer.search(player.getQuiltboard(), piece)) {
+			return null;
+		}
+		return new Placement(_placer.getOrientation(), _placer.getX(), _placer.getY());
+	}
+
+	@Override
+	public Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces) {
+		Objects.requireNonNull(player);
+		Objects.requireNonNull(pieces);
+		Piece best = null;
+		for (var piece : pieces) {
+			if ((best == null || piece.getFeatures().area() > best.getFeatures().area())
+					&& player.getQuiltboard().canPlace(piece)) {
+				best = piece;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the points the given piece brings to the given player per move.
+	 *
+	 * @param timeBoard : the time board
+	 * @param player : the player
+	 * @param piece : the piece
+	 * @return the points per move
+	 */
+	static double rate(TimeBoard timeBoard, IOpponent player, Piece piece) {
+		var features = piece.getFeatures();
+		var incomes = countIncomes(timeBoard, player.getPosition() + features.moves());
+		return (double) (2 * features.area() + features.buttons() * incomes - features.cost())
+				/ Math.max(features.moves(), 1);
+	}
+
+	/**
+	 * Returns the number of button boxes after the given position.
+	 *
+	 * @param timeBoard : the time board
+	 * @param position : the position
+	 * @return number of incomes left
+	 */
+	static int countIncomes(TimeBoard timeBoard, int position) {
+		var incomes = 0;
+		var boxes = timeBoard.getBoard();
+		for (int i = position + 1; i < boxes.size(); i++) {
+			if (boxes.get(i).getStatus() == Constants.BUTTON) {
+				incomes++;
+			}
+		}
+		return incomes;
+	}
+}
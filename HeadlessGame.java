@@ -0,0 +1,311 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class plays a game without any input nor display. The decisions of the
+ * players are taken by strategies, the automa keeps its own rules. A turn
+ * follows the rules of the graphic version, so a game runs at the speed of the
+ * strategies.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class HeadlessGame {
+	/**
+	 * Number of pieces a player can choose from on a CHANCE box.
+	 */
+	public static final int CHANCE_REACH = 12;
+
+	private static final int SELECTABLE_REACH = 3;
+
+	private final TimeBoard _timeBoard;
+	private final OpponentHandler _opponentHandler;
+	private final PieceHandler _pieceHandler;
+	private final CardHandler _cardHandler;
+	private final IStrategy[] _strategies;
+	private final Constants _version;
+	private int _turns;
+
+	/**
+	 * Constructs a new HeadlessGame with the given non null TimeBoard,
+	 * OpponentHandler, PieceHandler, CardHandler and version.
+	 *
+	 * @param timeBoard : the time board
+	 * @param opponentHandler : the opponent handler
+	 * @param pieceHandler : the piece handler
+	 * @param cardHandler : the deck of the automa
+	 * @param version : the given version of the game
+	 * @param strategies : the strategy of each opponent, null for an automa
+	 */
+	public HeadlessGame(TimeBoard timeBoard, OpponentHandler opponentHandler, PieceHandler pieceHandler,
+			CardHandler cardHandler, Constants version, IStrategy[] strategies) {
+		Objects.requireNonNull(timeBoard);
+		Objects.requireNonNull(opponentHandler);
+		Objects.requireNonNull(pieceHandler);
+		Objects.requireNonNull(cardHandler);
+		Objects.requireNonNull(version);
+		Objects.requireNonNull(strategies);
+		if (strategies.length != 2) {
+			throw new IllegalArgumentException("there is only two players");
+		}
+		for (int i = 0; i < strategies.length; i++) {
+			var opponent = opponentHandler.getOpponentIndex(i);
+			if (opponent instanceof Automa) {
+				if (cardHandler.getDeck() == Constants.DEFAULT) {
+					throw new IllegalArgumentException("The automa needs a deck");
+				}
+			} else if (strategies[i] == null) {
+				throw new IllegalArgumentException("Every player needs a strategy");
+			}
+		}
+		_timeBoard = timeBoard;
+		_opponentHandler = opponentHandler;
+		_pieceHandler = pieceHandler;
+		_cardHandler = cardHandler;
+		_strategies = strategies.clone();
+		_version = version;
+		if (cardHandler.getDeck() != Constants.DEFAULT) {
+			_cardHandler.initPile();
+		}
+		if (version == Constants.PHASE5) {
+			_timeBoard.addSpecialBox();
+		}
+	}
+
+	/**
+	 * Getter for the time board.
+	 *
+	 * @return the time board
+	 */
+	public TimeBoard getTimeBoard() {
+		return _timeBoard;
+	}
+
+	/**
+	 * Getter for the opponent handler.
+	 *
+	 * @return the opponent handler
+	 */
+	public OpponentHandler getOpponentHandler() {
+		return _opponentHandler;
+	}
+
+	/**
+	 * Getter for the piece handler.
+	 *
+	 * @return the piece handler
+	 */
+	public PieceHandler getPieceHandler() {
+		return _pieceHandler;
+	}
+
+	/**
+	 * Getter for the deck of the automa.
+	 *
+	 * @return the card handler
+	 */
+	public CardHandler getCardHandler() {
+		return _cardHandler;
+	}
+
+	/**
+	 * Getter for the number of turns played.
+	 *
+	 * @return number of turns
+	 */
+	public int getTurns() {
+		return _turns;
+	}
+
+	/**
+	 * Returns the number of pieces the current opponent can choose from.
+	 *
+	 * @return number of reachable pieces
+	 */
+	public int getReachable() {
+		var reach = _opponentHandler.hasCurrentPlayerChance(_timeBoard) ? CHANCE_REACH : SELECTABLE_REACH;
+		return Math.min(reach, _pieceHandler.getSize());
+	}
+
+	/**
+	 * Returns the Zobrist hash of the current position.
+	 *
+	 * @return the hash
+	 */
+	public long getHash() {
+		return Zobrist.hash(_opponentHandler, _pieceHandler);
+	}
+
+	/**
+	 * Captures the current state of the game.
+	 *
+	 * @return the state
+	 */
+	public GameState getState() {
+		return GameState.capture(_timeBoard, _opponentHandler, _pieceHandler, _cardHandler);
+	}
+
+	/**
+	 * Puts the game back in the given state, captured from this game or from a
+	 * game built the same way.
+	 *
+	 * @param state : the state
+	 */
+	public void setState(GameState state) {
+		Objects.requireNonNull(state);
+		state.apply(_timeBoard, _opponentHandler, _pieceHandler, _cardHandler);
+	}
+
+	/**
+	 * Builds a new game of the same version, with the same deck and the same
+	 * kinds of opponents, in the state of this game. The players of the new game
+	 * take their decisions with the given strategy, so a search can play the
+	 * rest of this game as many times as it wants without modifying it.
+	 *
+	 * @param strategy : the strategy of the players of the new game
+	 * @param random : the random of the new game
+	 * @return the new game
+	 * @throws IOException : if a file can't be read
+	 */
+	public HeadlessGame copy(IStrategy strategy, GameRandom random) throws IOException {
+		Objects.requireNonNull(strategy);
+		return GameFactory.buildHeadless(_version, _cardHandler.getDeck(), _opponentHandler,
+				new IStrategy[] { strategy, strategy }, getState(), random);
+	}
+
+	/**
+	 * Checks whether or not the game is finished.
+	 *
+	 * @return boolean
+	 */
+	public boolean isOver() {
+		return _opponentHandler.checkEndOfGame(_timeBoard.getSize());
+	}
+
+	/**
+	 * Plays the game until its end.
+	 *
+	 * @return the player with the greatest score
+	 */
+	public IOpponent run() {
+		while (!isOver()) {
+			playTurn();
+		}
+		return _opponentHandler.getVictoriousPlayer();
+	}
+
+	/**
+	 * Plays the turn of the current opponent.
+	 */
+	public void playTurn() {
+		if (isOver()) {
+			throw new IllegalStateException("The game is over");
+		}
+		var current = _opponentHandler.getCurrent();
+		if (current instanceof Automa) {
+			automaTurn(current);
+		} else {
+			playerTurn(current, _strategies[_opponentHandler.getCurrentIndex()]);
+		}
+		_opponentHandler.updateSpecialTile();
+		_opponentHandler.updateCurrentPlayer(_timeBoard);
+		_turns++;
+	}
+
+	/**
+	 * Handles a turn of a player : buying a piece or skipping the turn.
+	 *
+	 * @param player : the player
+	 * @param strategy : the strategy of the player
+	 */
+	private void playerTurn(IOpponent player, IStrategy strategy) {
+		var reachable = getReachable();
+		var choice = strategy.choosePiece(this, player, reachable);
+		if (choice < 0) {
+			var patch = player.skipTurn(_opponentHandler.distanceBetweenPlayers() + 1, _timeBoard);
+			afterMove(player, strategy, patch);
+			return;
+		}
+		if (choice >= reachable) {
+			throw new IllegalStateException("The strategy chose a piece out of reach");
+		}
+		var piece = _pieceHandler.getPiece(choice);
+		if (!player.canBuyPiece(piece) || !place(player, strategy, piece)) {
+			throw new IllegalStateException("The strategy chose a piece that can't be bought");
+		}
+		_pieceHandler.buy(choice);
+		afterMove(player, strategy, player.recoverPiece(piece, _timeBoard));
+	}
+
+	/**
+	 * Handles a turn of the automa.
+	 *
+	 * @param automa : the automa
+	 */
+	private void automaTurn(IOpponent automa) {
+		var card = _cardHandler.drawCard();
+		var selectable = _pieceHandler.getSelectablePieces();
+		var piece = automa.buyingPhase(selectable, _opponentHandler.getHumanPlayer().getPosition(), automa.getPosition(),
+				card, _timeBoard);
+		if (piece != null) {
+			_pieceHandler.buy(selectable.indexOf(piece));
+		}
+	}
+
+	/**
+	 * Handles the DRAW box the player may have stopped on and the patch it may
+	 * have walked on.
+	 *
+	 * @param player : the player
+	 * @param strategy : the strategy of the player
+	 * @param patch : the patch to place, null if there is none
+	 */
+	private void afterMove(IOpponent player, IStrategy strategy, Piece patch) {
+		if (_timeBoard.isDrawBox(player.getPosition())) {
+			var pieces = Arrays.stream(_pieceHandler.cubePieces()).filter(Objects::nonNull).toArray(Piece[]::new);
+			var optional = strategy.chooseOptionalPiece(this, player, pieces);
+			if (optional != null) {
+				placingPhase(player, strategy, optional);
+			}
+		}
+		if (patch != null) {
+			placingPhase(player, strategy, patch);
+		}
+	}
+
+	/**
+	 * Places a piece that is not bought from the market and moves the player.
+	 *
+	 * @param player : the player
+	 * @param strategy : the strategy of the player
+	 * @param piece : the piece
+	 */
+	private void placingPhase(IOpponent player, IStrategy strategy, Piece piece) {
+		if (place(player, strategy, piece)) {
+			afterMove(player, strategy, player.recoverPiece(piece, _timeBoard));
+		}
+	}
+
+	/**
+	 * Asks the strategy where to place the given piece and places it.
+	 *
+	 * @param player : the player
+	 * @param strategy : the strategy of the player
+	 * @param piece : the piece
+	 * @return true if the piece was placed, false if the strategy didn't place it
+	 */
+	private boolean place(IOpponent player, IStrategy strategy, Piece piece) {
+		var placement = strategy.place(this, player, piece);
+		if (placement == null) {
+			return false;
+		}
+		if (!piece.getOrientations().contains(placement.orientation())
+				|| !player.getQuiltboard().addPiece(placement.orientation(), placement.x(), placement.y())) {
+			throw new IllegalStateException("The strategy chose an invalid placement");
+		}
+		return true;
+	}
+}
@@ -0,0 +1,32 @@
+package fr.uge.patchwork;
+
+/**
+ * This record stores the move advised to a player by a search : the piece to
+ * buy and where to place it, or skipping the turn, with the margin the player
+ * can expect from it.
+ * 
+ * @param piece : index of the piece after the neutral pawn, -1 to skip the turn
+ * @param placement : placement of the piece, null to skip the turn
+ * @param value : margin expected by the player at the end of the search
+ * @param depth : number of turns searched
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public record Hint(int piece, Placement placement, double value, int depth) {
+	/**
+	 * Construct a new Hint.
+	 * @param piece : index of the piece after the neutral pawn, -1 to skip the turn
+	 * @param placement : placement of the piece, null to skip the turn
+	 * @param value : margin expected by the player at the end of the search
+	 * @param depth : number of turns searched
+	 */
+	public Hint {
+		if (piece < -1 || depth < 0) {
+			throw new IllegalArgumentException("Invalid hint");
+		}
+		if ((piece == -1) != (placement == null)) {
+			throw new IllegalArgumentException("A piece needs a placement");
+		}
+	}
+}
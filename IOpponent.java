@@ -1,7 +1,6 @@
 package fr.uge.patchwork;
 
-import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -43,6 +42,12 @@ public sealed interface IOpponent permits Player, Automa {
 	 */
 	public abstract int getButton();
 	
+	/**
+	 * Returns the number of buttons the opponent earns on each income box
+	 * @return the wage
+	 */
+	public abstract int getWage();
+	
 	// Setter
 	
 	/**
@@ -101,23 +106,35 @@ public sealed interface IOpponent permits Player, Automa {
 	 */
 	public abstract boolean updateSpeTile();
 	
+	/**
+	 * Returns true if the opponent got the special tile.
+	 * @return boolean
+	 */
+	public abstract boolean hasSpecialTile();
+	
+	// State of a game
 	
-	// Graphic methods
+	/**
+	 * Number of ints written by saveState : the position, the buttons, the wage,
+	 * the special tile, then the turn budget, the number of pieces with buttons
+	 * and the buttons on these pieces of the automa.
+	 */
+	public static final int STATE_SIZE = 7;
 	
 	/**
-	 * Initializes a GraphicalObject in a rectangle.
-	 * @param topLeftX : x coordinates of the GraphicalObject's top left corner.
-	 * @param topLeftY : y coordinates of the GraphicalObject's top left corner.
-	 * @param width : width of the GraphicalObject.
-	 * @param height : height of the GraphicalObject.
+	 * Writes the stats of the opponent in the given array, its quilt board is
+	 * not written.
+	 * @param state : the array
+	 * @param offset : index of the first stat in the array
 	 */
-	public abstract void SetGraphicalProperties(float topLeftX, float topLeftY, float width, float height);
+	public abstract void saveState(int[] state, int offset);
 	
 	/**
-	 * Draw a GraphicalObject by calling its onDraw() function.
-	 * @param  graphics : object that calls the graphic methods.
+	 * Replaces the stats of the opponent with the ones written by saveState.
+	 * @param state : the array
+	 * @param offset : index of the first stat in the array
 	 */
-	public abstract void draw(Graphics2D graphics);
+	public abstract void restoreState(int[] state, int offset);
 	 
 	// Functions implemented by player and not by automa
 	
@@ -196,7 +213,7 @@ public sealed interface IOpponent permits Player, Automa {
 	 * @param timeBoard : TimeBoard object representing the time board.
 	 * @return piece
 	 */
-	public default Piece buyingPhase(ArrayList<Piece> pieces, int playerPos, int automaPos, Card currentCard, TimeBoard timeBoard) {
+	public default Piece buyingPhase(List<Piece> pieces, int playerPos, int automaPos, Card currentCard, TimeBoard timeBoard) {
 		return null;
 	}
 }
\ No newline at end of file
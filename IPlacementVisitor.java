@@ -0,0 +1,21 @@
+package fr.uge.patchwork;
+
+/**
+ * Interface used to receive the legal placements of a piece on a quilt board
+ * one by one, without creating an object for each of them.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+@FunctionalInterface
+public interface IPlacementVisitor {
+	/**
+	 * Receives a legal placement.
+	 * 
+	 * @param orientation : orientation of the piece
+	 * @param x : x coordinate of the top left corner of the piece
+	 * @param y : y coordinate of the top left corner of the piece
+	 * @return true to continue the enumeration, false to stop it
+	 */
+	boolean visit(Piece orientation, int x, int y);
+}
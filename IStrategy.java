@@ -0,0 +1,42 @@
+package fr.uge.patchwork;
+
+/**
+ * Interface of the decisions of a player in a {@link HeadlessGame}. The game
+ * asks the strategy instead of reading the keyboard, a strategy must not
+ * modify the game it is given.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public interface IStrategy {
+	/**
+	 * Chooses the piece the player buys among the first pieces after the neutral
+	 * pawn. The player must be able to pay for the piece and to place it.
+	 * 
+	 * @param game : the game
+	 * @param player : the player that plays
+	 * @param reachable : number of pieces the player can choose from
+	 * @return index of the piece after the neutral pawn, -1 to skip the turn
+	 */
+	int choosePiece(HeadlessGame game, IOpponent player, int reachable);
+	
+	/**
+	 * Chooses where the player places the given piece on its quilt board.
+	 * 
+	 * @param game : the game
+	 * @param player : the player that plays
+	 * @param piece : the piece to place
+	 * @return the placement, null if the piece is not placed
+	 */
+	Placement place(HeadlessGame game, IOpponent player, Piece piece);
+	
+	/**
+	 * Chooses the piece the player takes on a DRAW box.
+	 * 
+	 * @param game : the game
+	 * @param player : the player that plays
+	 * @param pieces : the pieces made of 4 cubes
+	 * @return the chosen piece, null if the player takes none
+	 */
+	Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces);
+}
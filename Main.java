@@ -10,8 +10,15 @@ import java.util.Scanner;
  * @author FRAIZE Victor
  */
 public class Main {
+	/**
+	 * Launches the game, the quilt boards have the size given as first argument,
+	 * or the size of the rules if there is none.
+	 * 
+	 * @param args : the number of cells on a side of the quilt boards, optional
+	 */
 	public static void main(String[] args) {
-		var game = GameBuilder.getVersionSelector(new Scanner(System.in))
+		var gridSize = (args.length > 0) ? Integer.parseInt(args[0]) : Constants.GRID_SIZE.getValue();
+		var game = GameBuilder.getVersionSelector(new Scanner(System.in), gridSize)
 			.chooseVersion()
 			.addPlayers()
 			.build();
@@ -0,0 +1,553 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class is a strategy that searches its moves with a Monte Carlo tree
+ * search during a fixed time budget. A node of the tree is a decision of a
+ * player, buying one of the reachable pieces or skipping the turn, the turns
+ * of the automa and the random boxes are played between two nodes, so the
+ * statistics of a node are the ones of every outcome of the chance seen
+ * during the search. The cards of the automa are face down, so each game of
+ * the search shuffles them again. The end of a game is played by a greedy
+ * strategy placing its pieces at the best of the first placements found.
+ *
+ * The workers of the search share the tree : each one plays its games in its
+ * own copy of the game, a node is locked while a worker chooses one of its
+ * children and a chosen child counts as a lost game until the result is
+ * known, so the workers spread over different moves. The node reached by the
+ * chosen move is kept and becomes the root of the next search if the game
+ * went through it. By default, the workers run in a pool shared by the
+ * searches only : in the pool running the games, like the one of a
+ * {@link Tournament}, a worker waiting for the others would play other games
+ * in the meantime.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class MctsStrategy implements IStrategy {
+	/**
+	 * Default time budget of a move, in nanoseconds.
+	 */
+	public static final long DEFAULT_BUDGET = 200_000_000;
+
+	// children of a node : skipping then the reachable pieces, for each player
+	private static final int MOVES = HeadlessGame.CHANCE_REACH + 1;
+	private static final double EXPLORATION = 1.0;
+	private static final double MARGIN_SCALE = 8.0;
+	private static final int RANDOM_MOVE_RATE = 8;
+	private static final int REUSE_DEPTH = 4;
+	// placements evaluated by a rollout, a cheap and deterministic fit
+	private static final int ROLLOUT_PLACEMENTS = 64;
+
+	private final ForkJoinPool _pool;
+	private final long _budget;
+	private final Worker[] _workers;
+	private final GreedyStrategy _placement;
+	private HeadlessGame _game;
+	private int _turns;
+	private Node _next;
+	private int _iterations;
+
+	/**
+	 * Constructs a new MctsStrategy searching with a worker for each thread of
+	 * the given pool. The pool must not be the one running the games, a pool
+	 * with a parallelism of 1 searches in the calling thread only.
+	 *
+	 * @param pool : the pool running the workers
+	 * @param budget : duration of the search of a move in nanoseconds
+	 */
+	public MctsStrategy(ForkJoinPool pool, long budget) {
+		Objects.requireNonNull(pool);
+		if (budget <= 0) {
+			throw new IllegalArgumentException("The budget must be positive");
+		}
+		_pool = pool;
+		_budget = budget;
+		_workers = new Worker[Math.max(pool.getParallelism(), 1)];
+		var random = new GameRandom();
+		for (int i = 0; i < _workers.length; i++) {
+			_workers[i] = new Worker(random.split());
+		}
+		_placement = new GreedyStrategy();
+	}
+
+	/**
+	 * Constructs a new MctsStrategy searching in the pool of the searches.
+	 *
+	 * @param budget : duration of the search of a move in nanoseconds
+	 */
+	public MctsStrategy(long budget) {
+		this(SearchPool.POOL, budget);
+	}
+
+	/**
+	 * Constructs a new MctsStrategy searching in the pool of the searches with
+	 * the default time budget.
+	 */
+	public MctsStrategy() {
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Getter for the number of games played by the last search, the games of
+	 * the reused subtree not included.
+	 *
+	 * @return number of games
+	 */
+	public int getIterations() {
+		return _iterations;
+	}
+
+	@Override
+	public int choosePiece(HeadlessGame game, IOpponent player, int reachable) {
+		Objects.requireNonNull(game);
+		Objects.requireNonNull(player);
+		var deadline = System.nanoTime() + _budget;
+		var legal = legalMoves(game);
+		if (legal == 1) {
+			_next = null;
+			return -1;
+		}
+		var root = reuse(game);
+		search(game, root, deadline);
+		var mover = game.getOpponentHandler().getCurrentIndex();
+		var best = root.mostVisited(mover, legal);
+		_game = game;
+		_turns = game.getTurns();
+		_next = best;
+		if (best == null) {
+			return _placement.choosePiece(game, player, reachable);
+		}
+		return best.getMove();
+	}
+
+	@Override
+	public Placement place(HeadlessGame game, IOpponent player, Piece piece) {
+		return _placement.place(game, player, piece);
+	}
+
+	@Override
+	public Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces) {
+		return _placement.chooseOptionalPiece(game, player, pieces);
+	}
+
+	/**
+	 * Returns the root of the search of the current move : the node the game
+	 * went through after the last move when it is found, a new node otherwise.
+	 * Against the automa, the node reached by the last move is the next decision
+	 * of the player whatever the cards were. Against a player, the node is
+	 * looked for among the next decisions by the hash of the position.
+	 *
+	 * @param game : the game
+	 * @return the root
+	 */
+	private Node reuse(HeadlessGame game) {
+		if (game != _game || _next == null || game.getTurns() <= _turns) {
+			copyGame(game);
+			return new Node(-1, -1);
+		}
+		var opponents = game.getOpponentHandler();
+		if (opponents.getOpponentIndex(1 - opponents.getCurrentIndex()) instanceof Automa) {
+			return _next;
+		}
+		var hash = game.getHash();
+		var nodes = new ArrayDeque<Node>();
+		nodes.add(_next);
+		for (int depth = 0; depth < REUSE_DEPTH && !nodes.isEmpty(); depth++) {
+			for (int i = nodes.size(); i > 0; i--) {
+				var node = nodes.poll();
+				if (node.getHash() == hash) {
+					return node;
+				}
+				node.addChildren(nodes);
+			}
+		}
+		return new Node(-1, -1);
+	}
+
+	/**
+	 * Gives a copy of the given game to every worker if they don't have one.
+	 *
+	 * @param game : the game
+	 */
+	private void copyGame(HeadlessGame game) {
+		if (game == _game) {
+			return;
+		}
+		try {
+			for (var worker : _workers) {
+				worker.setGame(game.copy(worker, worker.getRandom()));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		_game = game;
+	}
+
+	/**
+	 * Runs the workers from the current state of the given game until the
+	 * deadline, the calling thread runs the first one.
+	 *
+	 * @param game : the game
+	 * @param root : root of the tree
+	 * @param deadline : the deadline, compared with System.nanoTime
+	 */
+	private void search(HeadlessGame game, Node root, long deadline) {
+		var state = game.getState();
+		var tasks = new ArrayList<ForkJoinTask<?>>();
+		for (int i = 1; i < _workers.length; i++) {
+			var worker = _workers[i];
+			tasks.add(_pool.submit(() -> worker.search(root, state, deadline)));
+		}
+		_workers[0].search(root, state, deadline);
+		_iterations = _workers[0].getIterations();
+		for (int i = 0; i < tasks.size(); i++) {
+			tasks.get(i).join();
+			_iterations += _workers[i + 1].getIterations();
+		}
+	}
+
+	/**
+	 * Returns the moves the current player of the given game can play, the bit
+	 * of skipping then the bit of each reachable piece it can buy and place.
+	 *
+	 * @param game : the game
+	 * @return the bits of the moves
+	 */
+	private static int legalMoves(HeadlessGame game) {
+		var player = game.getOpponentHandler().getCurrent();
+		var pieces = game.getPieceHandler();
+		var board = player.getQuiltboard();
+		var legal = 1;
+		for (int i = 0; i < game.getReachable(); i++) {
+			var piece = pieces.getPiece(i);
+			if (player.canBuyPiece(piece) && board.canPlace(piece)) {
+				legal |= 1 << (i + 1);
+			}
+		}
+		return legal;
+	}
+
+	/**
+	 * Node of the tree, reached by a move of a player.
+	 */
+	private static final class Node {
+		private final int _move;
+		private final int _mover;
+		private final Node[] _children = new Node[2 * MOVES];
+		private int _visits;
+		private double _wins;
+		private long _hash;
+
+		/**
+		 * Constructs a new Node.
+		 *
+		 * @param move : the move, -1 to skip
+		 * @param mover : index of the player that played the move
+		 */
+		private Node(int move, int mover) {
+			_move = move;
+			_mover = mover;
+		}
+
+		/**
+		 * Getter for the move.
+		 *
+		 * @return the move, -1 to skip
+		 */
+		private int getMove() {
+			return _move;
+		}
+
+		/**
+		 * Getter for the index of the player that played the move.
+		 *
+		 * @return index of the player
+		 */
+		private int getMover() {
+			return _mover;
+		}
+
+		/**
+		 * Getter for the hash of the first position the node was reached with.
+		 *
+		 * @return the hash, 0 if the node was never reached
+		 */
+		private synchronized long getHash() {
+			return _hash;
+		}
+
+		/**
+		 * Keeps the hash of the position the node is reached with the first time.
+		 *
+		 * @param hash : hash of the position
+		 */
+		private synchronized void setHash(long hash) {
+			if (_hash == 0) {
+				_hash = hash;
+			}
+		}
+
+		/**
+		 * Adds a child for the first legal move that has none yet.
+		 *
+		 * @param mover : index of the player that plays
+		 * @param legal : bits of the legal moves
+		 * @return the new child, null if every legal move has a child
+		 */
+		private synchronized Node expand(int mover, int legal) {
+			for (var moves = legal; moves != 0; moves &= moves - 1) {
+				var slot = Integer.numberOfTrailingZeros(moves);
+				if (_children[mover * MOVES + slot] == null) {
+					var child = new Node(slot - 1, mover);
+					child._visits = 1;
+					_children[mover * MOVES + slot] = child;
+					return child;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Chooses the legal child with the best upper confidence bound and counts
+		 * it as a lost game until its result is known.
+		 *
+		 * @param mover : index of the player that plays
+		 * @param legal : bits of the legal moves, every one has a child
+		 * @return the child
+		 */
+		private synchronized Node select(int mover, int legal) {
+			var total = 0;
+			for (var moves = legal; moves != 0; moves &= moves - 1) {
+				total += _children[mover * MOVES + Integer.numberOfTrailingZeros(moves)]._visits;
+			}
+			var log = Math.log(total);
+			Node best = null;
+			var bestValue = Double.NEGATIVE_INFINITY;
+			for (var moves = legal; moves != 0; moves &= moves - 1) {
+				var child = _children[mover * MOVES + Integer.numberOfTrailingZeros(moves)];
+				var value = child.getWins() / child._visits + EXPLORATION * Math.sqrt(log / child._visits);
+				if (value > bestValue) {
+					best = child;
+					bestValue = value;
+				}
+			}
+			best._visits++;
+			return best;
+		}
+
+		/**
+		 * Returns the legal child that was played the most.
+		 *
+		 * @param mover : index of the player that plays
+		 * @param legal : bits of the legal moves
+		 * @return the child, null if no legal move has a child
+		 */
+		private synchronized Node mostVisited(int mover, int legal) {
+			Node best = null;
+			for (var moves = legal; moves != 0; moves &= moves - 1) {
+				var child = _children[mover * MOVES + Integer.numberOfTrailingZeros(moves)];
+				if (child != null && (best == null || child._visits > best._visits)) {
+					best = child;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Adds the children of the node to the given queue.
+		 *
+		 * @param nodes : the queue
+		 */
+		private synchronized void addChildren(ArrayDeque<Node> nodes) {
+			for (var child : _children) {
+				if (child != null) {
+					nodes.add(child);
+				}
+			}
+		}
+
+		/**
+		 * Getter for the sum of the results of the games played through the node.
+		 *
+		 * @return the sum of the results
+		 */
+		private synchronized double getWins() {
+			return _wins;
+		}
+
+		/**
+		 * Adds the result of a game played through the node, the game was already
+		 * counted when the node was chosen.
+		 *
+		 * @param result : the result for the player that played the move, between 0
+		 *        and 1
+		 */
+		private synchronized void addResult(double result) {
+			_wins += result;
+		}
+	}
+
+	/**
+	 * Pool of the searches, with a thread for each core, created with the
+	 * first search using it.
+	 */
+	private static final class SearchPool {
+		private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Worker of the search, it plays games in its own copy of the game. It is
+	 * the strategy of the players of its copy : it plays the moves chosen in
+	 * the tree, then the moves of the greedy strategy.
+	 */
+	private static final class Worker implements IStrategy {
+		private static final int NONE = Integer.MIN_VALUE;
+
+		private final GameRandom _random;
+		private final GreedyStrategy _tree;
+		private final GreedyStrategy _rollout;
+		private final ArrayList<Node> _path;
+		private HeadlessGame _game;
+		private int _forced;
+		private boolean _inTree;
+		private int _iterations;
+
+		/**
+		 * Constructs a new Worker.
+		 *
+		 * @param random : the random of the worker and of its games
+		 */
+		private Worker(GameRandom random) {
+			_random = random;
+			_tree = new GreedyStrategy();
+			_rollout = new GreedyStrategy(ROLLOUT_PLACEMENTS);
+			_path = new ArrayList<>();
+			_forced = NONE;
+		}
+
+		/**
+		 * Getter for the random.
+		 *
+		 * @return the random
+		 */
+		private GameRandom getRandom() {
+			return _random;
+		}
+
+		/**
+		 * Getter for the number of games played by the last search.
+		 *
+		 * @return number of games
+		 */
+		private int getIterations() {
+			return _iterations;
+		}
+
+		/**
+		 * Sets the copy of the game the worker plays in.
+		 *
+		 * @param game : the copy
+		 */
+		private void setGame(HeadlessGame game) {
+			_game = game;
+		}
+
+		/**
+		 * Plays games from the given state until the deadline.
+		 *
+		 * @param root : root of the tree
+		 * @param state : state of the root
+		 * @param deadline : the deadline, compared with System.nanoTime
+		 */
+		private void search(Node root, GameState state, long deadline) {
+			_iterations = 0;
+			while (System.nanoTime() - deadline < 0) {
+				iterate(root, state);
+				_iterations++;
+			}
+		}
+
+		/**
+		 * Plays a game from the given state, with the cards of the automa shuffled
+		 * again : the moves of the tree down to a new node, then the moves of the
+		 * greedy strategy, and gives the result to the nodes it went through. The
+		 * result grows with the margin of the player and is one half for a tie.
+		 *
+		 * @param root : root of the tree
+		 * @param state : state of the root
+		 */
+		private void iterate(Node root, GameState state) {
+			_game.setState(state);
+			_game.getCardHandler().shuffleHidden();
+			_path.clear();
+			var opponents = _game.getOpponentHandler();
+			var node = root;
+			while (node != null && !_game.isOver()) {
+				if (opponents.getCurrent() instanceof Automa) {
+					_game.playTurn();
+					continue;
+				}
+				node.setHash(_game.getHash());
+				var mover = opponents.getCurrentIndex();
+				var legal = legalMoves(_game);
+				var child = node.expand(mover, legal);
+				if (child == null) {
+					child = node.select(mover, legal);
+					node = child;
+				} else {
+					node = null;
+				}
+				_path.add(child);
+				_forced = child.getMove();
+				_inTree = true;
+				_game.playTurn();
+				_inTree = false;
+			}
+			while (!_game.isOver()) {
+				_game.playTurn();
+			}
+			// a lost game is still worth playing well, so the result follows the margin
+			var margin = opponents.getOpponentIndex(0).getScore() - opponents.getOpponentIndex(1).getScore();
+			var result = 1 / (1 + Math.exp(-margin / MARGIN_SCALE));
+			for (var visited : _path) {
+				visited.addResult((visited.getMover() == 0) ? result : 1 - result);
+			}
+		}
+
+		@Override
+		public int choosePiece(HeadlessGame game, IOpponent player, int reachable) {
+			if (_forced != NONE) {
+				var move = _forced;
+				_forced = NONE;
+				return move;
+			}
+			if (_random.nextInt(RANDOM_MOVE_RATE) != 0) {
+				return _rollout.choosePiece(game, player, reachable);
+			}
+			var legal = legalMoves(game);
+			var skip = _random.nextInt(Integer.bitCount(legal));
+			for (int i = 0; i < skip; i++) {
+				legal &= legal - 1;
+			}
+			return Integer.numberOfTrailingZeros(legal) - 1;
+		}
+
+		@Override
+		public Placement place(HeadlessGame game, IOpponent player, Piece piece) {
+			return (_inTree ? _tree : _rollout).place(game, player, piece);
+		}
+
+		@Override
+		public Piece chooseOptionalPiece(HeadlessGame game, IOpponent player, Piece[] pieces) {
+			return _rollout.chooseOptionalPiece(game, player, pieces);
+		}
+	}
+}
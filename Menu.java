@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -14,6 +15,15 @@ import java.util.Objects;
  *
  */
 public class Menu extends GraphicalObject {
+	private List<String> _hint = List.of();
+	
+	/**
+	 * Sets the hint displayed under the menu.
+	 * @param lines : the lines of the hint, none to hide it.
+	 */
+	public void setHint(String... lines) {
+		_hint = List.of(lines);
+	}
 	
 	@Override
 	protected void onDraw(Graphics2D graphics) {
@@ -40,8 +50,14 @@ public class Menu extends GraphicalObject {
 		y += yPadding;
 		displayMenuEntry(graphics, x, y, "Skip turn", "space");
 		y += yPadding;
+		displayMenuEntry(graphics, x, y, "Hint", "CTRL + H");
+		y += yPadding;
 		displayMenuEntry(graphics, x, y, "Quit game", "CTRL + Q");
 		graphics.drawLine((int)topLeftX, (int)(y + 5), (int)(topLeftX + width), (int)(y + 5));
+		for (var line : _hint) {
+			y += yPadding / 2;
+			graphics.drawString(line, x, y);
+		}
 	}
 	
 	/**
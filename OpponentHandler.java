@@ -1,10 +1,6 @@
 package fr.uge.patchwork;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
 import java.util.Objects;
-import java.awt.Font;
 
 /**
  * The class stores an array of players and handles the current player, the end
@@ -13,7 +9,7 @@ import java.awt.Font;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class OpponentHandler extends GraphicalObject {
+public class OpponentHandler {
 	private final IOpponent[] _opponents;
 	private int _current;
 	private boolean _specialTileRemaining;
@@ -62,6 +58,30 @@ public class OpponentHandler extends GraphicalObject {
 		return _opponents[_current];
 	}
 
+	/**
+	 * Returns the index of the current player.
+	 * 
+	 * @return index of the current player
+	 */
+	public int getCurrentIndex() {
+		return _current;
+	}
+
+	/**
+	 * Replaces the current player and the special tile status, the opponents
+	 * themselves are not modified.
+	 * 
+	 * @param current : index of the current player
+	 * @param specialTileRemaining : true if there is a special tile left
+	 */
+	public void restore(int current, boolean specialTileRemaining) {
+		if (current < 0 || current > 1) {
+			throw new IllegalArgumentException("there is only two players");
+		}
+		_current = current;
+		_specialTileRemaining = specialTileRemaining;
+	}
+
 	/**
 	 * Returns true if there is a special tile left.
 	 * 
@@ -76,7 +96,6 @@ public class OpponentHandler extends GraphicalObject {
 	 */
 	public void updateSpecialTile() {
 		if (specialTileRemaining() && _opponents[_current].updateSpeTile()) {
-			System.out.println();
 			_specialTileRemaining = false;
 		}
 	}
@@ -182,7 +201,7 @@ public class OpponentHandler extends GraphicalObject {
 	 * 
 	 * @return best player
 	 */
-	private IOpponent getVictoriousPlayer() {
+	public IOpponent getVictoriousPlayer() {
 		return (_opponents[0].getScore() > _opponents[1].getScore()) ? _opponents[0] : _opponents[1];
 	}
 
@@ -193,63 +212,4 @@ public class OpponentHandler extends GraphicalObject {
 		var winner = getVictoriousPlayer();
 		System.out.println(winner.getName() + " won with " + winner.getScore() + " points");
 	}
-
-	/**
-	 * The function calls the drawing function of the current player
-	 * 
-	 * @param context
-	 * @param topX
-	 * @param topY
-	 */
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		if (_opponents[_current].getClass().equals(Player.class)) {
-			_opponents[_current].SetGraphicalProperties(topLeftX, topLeftY, width, height);
-			_opponents[_current].draw(graphics);
-		}
-	}
-
-	/**
-	 * Displays the automa' stats under the menu.
-	 * 
-	 * @param graphics : object that calls the graphic functions.
-	 */
-	public void drawAutomaStats(Graphics2D graphics) {
-		Objects.requireNonNull(graphics);
-		if (_opponents[_current].getClass().equals(Automa.class)) {
-			_opponents[1].SetGraphicalProperties(20, 560, width, height);
-			_opponents[1].draw(graphics);
-		}
-	}
-
-	/**
-	 * 
-	 * @param graphics : object that calls the graphic functions.
-	 */
-	public void cleanSpace(Graphics2D graphics) {
-		Objects.requireNonNull(graphics);
-		graphics.setColor(Color.LIGHT_GRAY);
-		var rect = new Rectangle2D.Float(0, Constants.BOX_SIZE.getValue() + 10, width - 10, height);
-		graphics.fill(rect);
-	}
-
-	/**
-	 * Draws the winning screen.
-	 * 
-	 * @param graphics : object that calls the graphic functions.
-	 * @param wHeight  : window height.
-	 * @param wWidth   : window width.
-	 */
-	public void drawVictory(Graphics2D graphics, float wHeight, float wWidth) {
-		Objects.requireNonNull(graphics);
-		var winner = getVictoriousPlayer();
-		var text = "Player " + winner.getName() + " you won this game with " + winner.getScore();
-		graphics.setColor(Color.LIGHT_GRAY);
-		var rect = new Rectangle2D.Float(0, 0, wWidth, wHeight);
-		graphics.fill(rect);
-		graphics.setColor(Color.BLACK);
-		graphics.setFont(new Font("default", Font.BOLD, 50));
-		graphics.drawString(text, wWidth / 2 - graphics.getFontMetrics().stringWidth(text) / 2, wHeight / 2);
-	}
-
 }
@@ -0,0 +1,125 @@
+package fr.uge.patchwork;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+/**
+ * This class draws the current player, the stats of the automa and the
+ * winning screen.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class OpponentHandlerView extends GraphicalObject {
+	private final OpponentHandler _opponentHandler;
+	private final GraphicalObject[] _views;
+
+	/**
+	 * Constructs a new OpponentHandlerView drawing the opponents of the given
+	 * handler.
+	 * 
+	 * @param opponentHandler : the opponent handler
+	 */
+	public OpponentHandlerView(OpponentHandler opponentHandler) {
+		Objects.requireNonNull(opponentHandler);
+		_opponentHandler = opponentHandler;
+		_views = new GraphicalObject[2];
+		for (int i = 0; i < _views.length; i++) {
+			var opponent = opponentHandler.getOpponentIndex(i);
+			if (opponent instanceof Player player) {
+				_views[i] = new PlayerView(player);
+			} else if (opponent instanceof Automa automa) {
+				_views[i] = new AutomaView(automa);
+			}
+		}
+	}
+
+	/**
+	 * Returns the view of the current opponent.
+	 * 
+	 * @return the view
+	 */
+	private GraphicalObject currentView() {
+		return _views[_opponentHandler.getCurrentIndex()];
+	}
+
+	/**
+	 * The function calls the drawing function of the current player
+	 * 
+	 * @param context
+	 * @param topX
+	 * @param topY
+	 */
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		var view = currentView();
+		if (view instanceof PlayerView) {
+			view.SetGraphicalProperties(topLeftX, topLeftY, width, height);
+			view.draw(graphics);
+		}
+	}
+
+	/**
+	 * The function draws a piece on the quilt board of the current player on the
+	 * (x, y) coordinates.
+	 * 
+	 * @param graphics : object that calls the graphic functions.
+	 * @param piece : the piece to draw
+	 * @param x : x coordinate 
+	 * @param y : y coordinate
+	 */
+	public void drawPiece(Graphics2D graphics, Piece piece, int x, int y) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(piece);
+		if (currentView() instanceof PlayerView view) {
+			view.drawPiece(graphics, piece, x, y);
+		}
+	}
+
+	/**
+	 * Displays the automa' stats under the menu.
+	 * 
+	 * @param graphics : object that calls the graphic functions.
+	 */
+	public void drawAutomaStats(Graphics2D graphics) {
+		Objects.requireNonNull(graphics);
+		var view = currentView();
+		if (view instanceof AutomaView) {
+			view.SetGraphicalProperties(20, 560, width, height);
+			view.draw(graphics);
+		}
+	}
+
+	/**
+	 * 
+	 * @param graphics : object that calls the graphic functions.
+	 */
+	public void cleanSpace(Graphics2D graphics) {
+		Objects.requireNonNull(graphics);
+		graphics.setColor(Color.LIGHT_GRAY);
+		var rect = new Rectangle2D.Float(0, Constants.BOX_SIZE.getValue() + 10, width - 10, height);
+		graphics.fill(rect);
+	}
+
+	/**
+	 * Draws the winning screen.
+	 * 
+	 * @param graphics : object that calls the graphic functions.
+	 * @param wHeight  : window height.
+	 * @param wWidth   : window width.
+	 */
+	public void drawVictory(Graphics2D graphics, float wHeight, float wWidth) {
+		Objects.requireNonNull(graphics);
+		var winner = _opponentHandler.getVictoriousPlayer();
+		var text = "Player " + winner.getName() + " you won this game with " + winner.getScore();
+		graphics.setColor(Color.LIGHT_GRAY);
+		var rect = new Rectangle2D.Float(0, 0, wWidth, wHeight);
+		graphics.fill(rect);
+		graphics.setColor(Color.BLACK);
+		graphics.setFont(new Font("default", Font.BOLD, 50));
+		graphics.drawString(text, wWidth / 2 - graphics.getFontMetrics().stringWidth(text) / 2, wHeight / 2);
+	}
+}
@@ -0,0 +1,43 @@
+package fr.uge.patchwork;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This record stores a packing of pieces on the empty cells of a quilt board
+ * found by an {@link ExactCoverSolver} : the placements of the pieces, the
+ * cells they cover and the cells left empty.
+ * 
+ * @param placements : the placements, each orientation being one of a
+ *        different piece
+ * @param covered : number of empty cells covered by the pieces
+ * @param uncovered : number of empty cells left empty
+ * @param optimal : true if no packing covers more cells
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public record Packing(List<Placement> placements, int covered, int uncovered, boolean optimal) {
+	/**
+	 * Construct a new Packing.
+	 * @param placements : the placements, each orientation being one of a
+	 *        different piece
+	 * @param covered : number of empty cells covered by the pieces
+	 * @param uncovered : number of empty cells left empty
+	 * @param optimal : true if no packing covers more cells
+	 */
+	public Packing {
+		placements = List.copyOf(Objects.requireNonNull(placements));
+		if (covered < 0 || uncovered < 0) {
+			throw new IllegalArgumentException("Invalid number of cells");
+		}
+	}
+	
+	/**
+	 * Returns true if the pieces cover every empty cell.
+	 * @return boolean
+	 */
+	public boolean isComplete() {
+		return uncovered == 0;
+	}
+}
@@ -1,8 +1,5 @@
 package fr.uge.patchwork;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Ellipse2D;
 import java.util.Objects;
 
 /**
@@ -12,7 +9,7 @@ import java.util.Objects;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class Pawn extends GraphicalObject {
+public class Pawn {
 	private final Constants _color;
 
 	/**
@@ -30,30 +27,12 @@ public class Pawn extends GraphicalObject {
 	}
 
 	/**
-	 * The function return the Color corresponding to the pawn's color to be able to
-	 * draw it
+	 * Getter for the color of the pawn
 	 * 
-	 * @return Color
+	 * @return color of the pawn
 	 */
-	private Color match() {
-		switch (_color) {
-		case BLUE:
-			return Color.BLUE;
-		case RED:
-			return Color.RED;
-		case GREEN:
-			return Color.GREEN;
-		default:
-			return Color.LIGHT_GRAY;
-		}
-	}
-
-	@Override
-	public void onDraw(Graphics2D graphics) {
-		Objects.requireNonNull(graphics);
-		Ellipse2D.Float ellipse = new Ellipse2D.Float(topLeftX - 10, topLeftY - 10, width, height);
-		graphics.setColor(match());
-		graphics.fill(ellipse);
+	public Constants getColor() {
+		return _color;
 	}
 
 	@Override
@@ -0,0 +1,63 @@
+package fr.uge.patchwork;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.util.Objects;
+
+/**
+ * This class draws the pawn of a player with its color.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class PawnView extends GraphicalObject {
+	private Pawn _pawn;
+
+	/**
+	 * Constructs a new PawnView drawing the given pawn.
+	 * 
+	 * @param pawn : the pawn to draw
+	 */
+	public PawnView(Pawn pawn) {
+		Objects.requireNonNull(pawn);
+		_pawn = pawn;
+	}
+
+	/**
+	 * Changes the pawn drawn by this view.
+	 * 
+	 * @param pawn : the pawn to draw
+	 */
+	public void setPawn(Pawn pawn) {
+		Objects.requireNonNull(pawn);
+		_pawn = pawn;
+	}
+
+	/**
+	 * The function return the Color corresponding to the pawn's color to be able to
+	 * draw it
+	 * 
+	 * @return Color
+	 */
+	private Color match() {
+		switch (_pawn.getColor()) {
+		case BLUE:
+			return Color.BLUE;
+		case RED:
+			return Color.RED;
+		case GREEN:
+			return Color.GREEN;
+		default:
+			return Color.LIGHT_GRAY;
+		}
+	}
+
+	@Override
+	public void onDraw(Graphics2D graphics) {
+		Objects.requireNonNull(graphics);
+		Ellipse2D.Float ellipse = new Ellipse2D.Float(topLeftX - 10, topLeftY - 10, width, height);
+		graphics.setColor(match());
+		graphics.fill(ellipse);
+	}
+}
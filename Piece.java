@@ -1,27 +1,79 @@
 package fr.uge.patchwork;
 
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Font;
-import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * This class stores the information about a piece, it also handles the creation
  * of a piece from a String and its rotations/ inversions.
+ * Every orientation of a piece is computed once when the piece is parsed, the
+ * orientations that share the same shape are only stored once.
  * 
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class Piece extends GraphicalObject {
-	private boolean[][] _body; // 1bis
-	private byte _cost; // -128 + 127
-	private byte _buttons;
-	private byte _moves;
-	private byte xSize;
-	private byte ySize;
-	private Color _color;
+public class Piece {
+	private final boolean[][] _body; // 1bis
+	private final byte _cost; // -128 + 127
+	private final byte _buttons;
+	private final byte _moves;
+	private final byte xSize;
+	private final byte ySize;
+	private final byte _color;
+	// the family of the piece, set once by the method creating it
+	private List<Piece> _orientations;
+	private int _orientationIndex;
+	private Piece _flipped;
+	private Piece _reversed;
+	// placement tables indexed by the size of the quilt board, shared with the copies
+	private final AtomicReferenceArray<PlacementTable> _placements;
+	private int[] _solidRectangles;
+	private PieceFeatures _features;
+
+	/**
+	 * Number of colors a piece can have.
+	 */
+	public static final int COLOR_COUNT = 9;
+
+	/**
+	 * Largest number of cells on a side of a piece that can be encoded in a long.
+	 */
+	public static final int MAX_ENCODED_SIDE = 5;
+
+	// layout of a code : body, x size, y size, cost, moves, buttons
+	private static final int CODE_X_SIZE = MAX_ENCODED_SIDE * MAX_ENCODED_SIDE;
+	private static final int CODE_Y_SIZE = CODE_X_SIZE + 4;
+	private static final int CODE_COST = CODE_Y_SIZE + 4;
+	private static final int CODE_MOVES = CODE_COST + Byte.SIZE;
+	private static final int CODE_BUTTONS = CODE_MOVES + Byte.SIZE;
+
+	/**
+	 * Constructs a new piece with the given body and stats. The pieces are only
+	 * created by {@link #parse(String)}, {@link #decode(long)} and
+	 * {@link #duplicate(GameRandom)}, so a shared piece can't be changed once
+	 * its orientations are computed.
+	 * 
+	 * @param body       : body of the piece, indexed by column then line
+	 * @param cost       : cost of the piece
+	 * @param moves      : number of moves of the piece
+	 * @param buttons    : number of buttons on the piece
+	 * @param color      : index of the color of the piece
+	 * @param placements : placement tables of the piece
+	 */
+	private Piece(boolean[][] body, byte cost, byte moves, byte buttons, byte color,
+			AtomicReferenceArray<PlacementTable> placements) {
+		_body = body;
+		xSize = (byte) body.length;
+		ySize = (byte) body[0].length;
+		_cost = cost;
+		_moves = moves;
+		_buttons = buttons;
+		_color = color;
+		_placements = placements;
+	}
 
 	/**
 	 * Getter for the cost of the piece
@@ -50,6 +102,16 @@ public class Piece extends GraphicalObject {
 		return _moves;
 	}
 
+	/**
+	 * Getter for the index of the color of the piece, between 0 and
+	 * COLOR_COUNT - 1. The renderer maps it to an actual color.
+	 * 
+	 * @return index of the color
+	 */
+	public int getColor() {
+		return _color;
+	}
+
 	/**
 	 * Getter for the cost of the piece
 	 * 
@@ -82,21 +144,165 @@ public class Piece extends GraphicalObject {
 		return _body[y][x];
 	}
 
+	/**
+	 * Returns the masks of this orientation at every coordinates of a quilt
+	 * board of the default size where it fits.
+	 * 
+	 * @return table of the placements
+	 */
+	public PlacementTable getPlacementTable() {
+		return getPlacementTable(Constants.GRID_SIZE.getValue());
+	}
+
+	/**
+	 * Returns the masks of this orientation at every coordinates of a quilt
+	 * board of the given size where it fits. A table is kept for each size and
+	 * shared with the copies of the orientation, so games of different sizes
+	 * can run in parallel with the same pieces : the first table published for
+	 * a size is the one every thread uses.
+	 * 
+	 * @param size : size of the quilt board
+	 * @return table of the placements
+	 */
+	public PlacementTable getPlacementTable(int size) {
+		if (size <= 0 || size > BitBoard.MAX_SIZE) {
+			throw new IllegalArgumentException("Invalid size");
+		}
+		var table = _placements.get(size);
+		if (table == null) {
+			_placements.compareAndSet(size, null, new PlacementTable(this, size));
+			table = _placements.get(size);
+		}
+		return table;
+	}
+
+	/**
+	 * Builds the placement tables of every orientation for a quilt board of the
+	 * given size.
+	 * 
+	 * @param size : size of the quilt board
+	 */
+	public void preparePlacements(int size) {
+		for (var orientation : _orientations) {
+			orientation.getPlacementTable(size);
+		}
+	}
+
+	/**
+	 * Returns all the distinct orientations of the piece. This list is shared by
+	 * all the orientations of the piece and can't be modified.
+	 * 
+	 * @return distinct orientations of the piece
+	 */
+	public List<Piece> getOrientations() {
+		return _orientations;
+	}
+
+	/**
+	 * Returns the orientation at the given index.
+	 * 
+	 * @param index : index of the orientation
+	 * @return the orientation
+	 */
+	public Piece getOrientation(int index) {
+		return _orientations.get(index);
+	}
+
+	/**
+	 * Returns the number of distinct orientations of the piece, between 1 and 8.
+	 * 
+	 * @return number of orientations
+	 */
+	public int getOrientationCount() {
+		return _orientations.size();
+	}
+
+	/**
+	 * Returns the index of this orientation in the list of orientations.
+	 * 
+	 * @return index of this orientation
+	 */
+	public int getOrientationIndex() {
+		return _orientationIndex;
+	}
+
+	/**
+	 * Returns the number of largest rectangles completely covered by the piece.
+	 * A rectangle is kept only if no other covered rectangle is both as high and as
+	 * wide as it.
+	 * 
+	 * @return number of rectangles
+	 */
+	public int getSolidRectangleCount() {
+		return _solidRectangles.length / 2;
+	}
+
+	/**
+	 * Returns the height of the i-th largest rectangle covered by the piece.
+	 * 
+	 * @param i : index of the rectangle
+	 * @return height of the rectangle
+	 */
+	public int getSolidRectangleHeight(int i) {
+		return _solidRectangles[2 * i];
+	}
+
+	/**
+	 * Returns the width of the i-th largest rectangle covered by the piece.
+	 * 
+	 * @param i : index of the rectangle
+	 * @return width of the rectangle
+	 */
+	public int getSolidRectangleWidth(int i) {
+		return _solidRectangles[2 * i + 1];
+	}
+
 	/**
 	 * Returns the total number of body parts that the piece contains.
 	 * 
 	 * @return number of body parts
 	 */
 	public int getNumberOfBodyParts() {
-		var nbBodyParts = 0;
-		for (int i = 0; i < xSize; i++) {
-			for (int j = 0; j < ySize; j++) {
-				if (_body[i][j]) {
-					nbBodyParts++;
-				}
-			}
+		return _features.area();
+	}
+
+	/**
+	 * Getter for the features of the piece, shared by all its orientations.
+	 * 
+	 * @return features of the piece
+	 */
+	public PieceFeatures getFeatures() {
+		return _features;
+	}
+
+	/**
+	 * Creates a new piece with the same shape and stats as this piece but with
+	 * its own color. The bodies, placement tables and solid rectangles of the
+	 * orientations are shared with this piece, nothing is parsed nor computed.
+	 * 
+	 * @param random : the random of the game, used to choose the color
+	 * @return the new piece, in the same orientation as this piece
+	 */
+	public Piece duplicate(GameRandom random) {
+		Objects.requireNonNull(random);
+		var color = (byte) random.nextInt(COLOR_COUNT);
+		var family = new ArrayList<Piece>(_orientations.size());
+		for (var orientation : _orientations) {
+			var copy = new Piece(orientation._body, orientation._cost, orientation._moves, orientation._buttons, color,
+					orientation._placements);
+			copy._solidRectangles = orientation._solidRectangles;
+			copy._features = _features;
+			family.add(copy);
 		}
-		return nbBodyParts;
+		var orientations = List.copyOf(family);
+		for (int i = 0; i < family.size(); i++) {
+			var copy = family.get(i);
+			copy._orientations = orientations;
+			copy._orientationIndex = i;
+			copy._flipped = family.get(_orientations.get(i)._flipped._orientationIndex);
+			copy._reversed = family.get(_orientations.get(i)._reversed._orientationIndex);
+		}
+		return family.get(_orientationIndex);
 	}
 
 	/**
@@ -108,43 +314,188 @@ public class Piece extends GraphicalObject {
 	 * @return a new piece
 	 */
 	private Piece newPiece(byte x, byte y) {
-		var temp = new Piece();
-		temp._cost = _cost;
-		temp._moves = _moves;
-		temp._buttons = _buttons;
-		temp.xSize = (byte) x;
-		temp.ySize = (byte) y;
-		temp._body = new boolean[x][y];
-		temp._color = _color;
-		return temp;
+		return new Piece(new boolean[x][y], _cost, _moves, _buttons, _color, newPlacements());
 	}
 
 	/**
-	 * Returns a random color.
+	 * Creates the empty placement tables of a new shape.
 	 * 
-	 * @return a class Color representing a color.
+	 * @return placement tables indexed by the size of the quilt board
 	 */
-	private Color chooseRandomColor() {
-		Color[] colors = { Color.BLUE, Color.RED, Color.GREEN, Color.MAGENTA, Color.CYAN, Color.GRAY, Color.ORANGE,
-				Color.PINK, Color.YELLOW, };
-		int rand = (int) (Math.random() * colors.length);
-		return colors[rand];
+	private static AtomicReferenceArray<PlacementTable> newPlacements() {
+		return new AtomicReferenceArray<>(BitBoard.MAX_SIZE + 1);
 	}
 
 	/**
-	 * Initializes this piece with the given line
+	 * Returns the color of a shared piece, it only depends on its stats so that
+	 * parsing a piece doesn't use any random. The pieces of a game get their own
+	 * color when they are duplicated.
+	 * 
+	 * @param cost    : cost of the piece
+	 * @param moves   : number of moves of the piece
+	 * @param buttons : number of buttons on the piece
+	 * @return index of a color.
+	 */
+	private static byte sharedColor(byte cost, byte moves, byte buttons) {
+		return (byte) Math.floorMod(cost * 31 + moves * 7 + buttons, COLOR_COUNT);
+	}
+
+	/**
+	 * Creates a new shared piece from the given line and computes its
+	 * orientations. It is only called by {@link PieceCatalog}, which interns the
+	 * pieces by their line.
 	 * 
 	 * @param line : a line
+	 * @return the piece
 	 */
-	public void parseLine(String line) {
+	static Piece parse(String line) {
 		Objects.requireNonNull(line);
 		var splitLine = line.split(":");
 
-		parseBody(splitLine[0]);
-		_cost = (byte) Integer.parseInt(splitLine[1]);
-		_moves = (byte) Integer.parseInt(splitLine[2]);
-		_buttons = (byte) Integer.parseInt(splitLine[3]);
-		_color = chooseRandomColor();
+		var cost = (byte) Integer.parseInt(splitLine[1]);
+		var moves = (byte) Integer.parseInt(splitLine[2]);
+		var buttons = (byte) Integer.parseInt(splitLine[3]);
+		var piece = new Piece(parseBody(splitLine[0]), cost, moves, buttons, sharedColor(cost, moves, buttons),
+				newPlacements());
+		piece.initOrientations();
+		return piece;
+	}
+
+	/**
+	 * Returns the body and the stats of this piece packed in a long, the piece
+	 * can be rebuilt with {@link #decode(long)}.
+	 * 
+	 * @return code of the piece
+	 */
+	public long encode() {
+		if (xSize > MAX_ENCODED_SIDE || ySize > MAX_ENCODED_SIDE) {
+			throw new IllegalStateException("The piece is too large to be encoded");
+		}
+		var code = 0L;
+		for (int x = 0; x < xSize; x++) {
+			for (int y = 0; y < ySize; y++) {
+				if (_body[x][y]) {
+					code |= 1L << (y * xSize + x);
+				}
+			}
+		}
+		return code | (long) xSize << CODE_X_SIZE | (long) ySize << CODE_Y_SIZE
+				| (_cost & 0xFFL) << CODE_COST | (_moves & 0xFFL) << CODE_MOVES | (_buttons & 0xFFL) << CODE_BUTTONS;
+	}
+
+	/**
+	 * Creates a new piece from a code returned by {@link #encode()}, its
+	 * orientations are computed like for a parsed piece.
+	 * 
+	 * @param code : code of a piece
+	 * @return the piece
+	 */
+	public static Piece decode(long code) {
+		var x = (int) (code >>> CODE_X_SIZE) & 0xF;
+		var y = (int) (code >>> CODE_Y_SIZE) & 0xF;
+		if (x == 0 || y == 0 || x > MAX_ENCODED_SIDE || y > MAX_ENCODED_SIDE) {
+			throw new IllegalArgumentException("Invalid code");
+		}
+		var body = new boolean[x][y];
+		for (int i = 0; i < x; i++) {
+			for (int j = 0; j < y; j++) {
+				body[i][j] = (code & (1L << (j * x + i))) != 0;
+			}
+		}
+		var cost = (byte) (code >>> CODE_COST);
+		var moves = (byte) (code >>> CODE_MOVES);
+		var buttons = (byte) (code >>> CODE_BUTTONS);
+		var piece = new Piece(body, cost, moves, buttons, sharedColor(cost, moves, buttons), newPlacements());
+		piece.initOrientations();
+		return piece;
+	}
+
+	/**
+	 * Computes all the distinct orientations of the piece by rotating and
+	 * mirroring it until no new shape appears.
+	 */
+	private void initOrientations() {
+		var family = new ArrayList<Piece>();
+		family.add(this);
+		for (int i = 0; i < family.size(); i++) {
+			var current = family.get(i);
+			current._flipped = findOrAdd(family, current.rotate());
+			current._reversed = findOrAdd(family, current.mirror());
+		}
+		var orientations = List.copyOf(family);
+		var features = PieceFeatures.of(this);
+		for (int i = 0; i < family.size(); i++) {
+			family.get(i)._features = features;
+			family.get(i)._orientations = orientations;
+			family.get(i)._orientationIndex = i;
+			family.get(i).getPlacementTable(Constants.GRID_SIZE.getValue());
+			family.get(i).initSolidRectangles();
+		}
+	}
+
+	/**
+	 * Finds the largest rectangles completely covered by the piece.
+	 */
+	private void initSolidRectangles() {
+		// maxWidth[h] : widest covered rectangle of height h
+		var maxWidth = new int[ySize + 1];
+		for (int top = 0; top < ySize; top++) {
+			for (int left = 0; left < xSize; left++) {
+				for (int height = 1; top + height <= ySize; height++) {
+					var width = 0;
+					while (left + width < xSize && isColumnCovered(left + width, top, height)) {
+						width++;
+					}
+					maxWidth[height] = Math.max(maxWidth[height], width);
+				}
+			}
+		}
+		var rectangles = new ArrayList<Integer>();
+		for (int height = 1; height <= ySize; height++) {
+			var higher = (height < ySize) ? maxWidth[height + 1] : 0;
+			if (maxWidth[height] > 0 && maxWidth[height] > higher) {
+				rectangles.add(height);
+				rectangles.add(maxWidth[height]);
+			}
+		}
+		_solidRectangles = rectangles.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Checks if the given column of the body is covered from the line top on the
+	 * given height.
+	 * 
+	 * @param col    : column
+	 * @param top    : first line
+	 * @param height : number of lines
+	 * @return true if every cell is covered
+	 */
+	private boolean isColumnCovered(int col, int top, int height) {
+		for (int line = top; line < top + height; line++) {
+			if (!_body[col][line]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the orientation of the family that has the same body as the given
+	 * piece, adds the given piece to the family if there is none.
+	 * 
+	 * @param family : orientations already found
+	 * @param piece  : the piece to look for
+	 * @return the orientation with the same body
+	 */
+	private static Piece findOrAdd(List<Piece> family, Piece piece) {
+		for (var orientation : family) {
+			if (orientation.xSize == piece.xSize && orientation.ySize == piece.ySize
+					&& Arrays.deepEquals(orientation._body, piece._body)) {
+				return orientation;
+			}
+		}
+		family.add(piece);
+		return piece;
 	}
 
 	/**
@@ -172,6 +523,24 @@ public class Piece extends GraphicalObject {
 	 * @return rotated piece
 	 */
 	public Piece flip() {
+		return _flipped;
+	}
+
+	/**
+	 * Returns a mirrored version of this piece
+	 * 
+	 * @return mirrored piece
+	 */
+	public Piece reverse() {
+		return _reversed;
+	}
+
+	/**
+	 * Creates a rotated copy of this piece
+	 * 
+	 * @return rotated piece
+	 */
+	private Piece rotate() {
 		// rotates the piece counter clockwise
 		var temp = newPiece(ySize, xSize);
 		for (int i = xSize - 1; i >= 0; i--) {
@@ -183,11 +552,11 @@ public class Piece extends GraphicalObject {
 	}
 
 	/**
-	 * Returns a mirrored version of this piece
+	 * Creates a mirrored copy of this piece
 	 * 
 	 * @return mirrored piece
 	 */
-	public Piece reverse() {
+	private Piece mirror() {
 		// left becomes right right becomes left
 		var temp = newPiece(xSize, ySize);
 		for (int i = 0; i < ySize; i++) {
@@ -238,38 +607,39 @@ public class Piece extends GraphicalObject {
 	}
 
 	/**
-	 * Initializes the body by parsing the given line
+	 * Creates a body by parsing the given line
 	 * 
 	 * @param line : contains the information about the body
+	 * @return the body
 	 */
-	private void parseBody(String line) {
+	private static boolean[][] parseBody(String line) {
 		var splitLine = line.split(",");
-		ySize = (byte) splitLine.length;
-		xSize = (byte) splitLine[0].length();
-		_body = new boolean[xSize][ySize];
-		initPiece(line);
+		var body = new boolean[splitLine[0].length()][splitLine.length];
+		initPiece(body, line);
+		return body;
 	}
 
 	/**
 	 * Fill the body thanks to the given line
 	 * 
+	 * @param body : the body to fill
 	 * @param line
 	 */
-	private void initPiece(String line) {
+	private static void initPiece(boolean[][] body, String line) {
 		char[] decomposition = line.toCharArray();
 		int x = 0, y = 0;
 		for (var elm : decomposition) {
 			switch (elm) {
 			case '1' -> {
-				_body[x][y] = true;
+				body[x][y] = true;
 				x++;
 			}
 			case '0' -> {
-				_body[x][y] = false;
+				body[x][y] = false;
 				x++;
 			}
 			case ',' -> {
-				if (xSize != x) {
+				if (body.length != x) {
 					throw new IllegalArgumentException("invalid piece");
 				}
 				y++;
@@ -298,15 +668,6 @@ public class Piece extends GraphicalObject {
 		return space.toString() + "  ";
 	}
 
-	@Override
-	public void SetGraphicalProperties(float x, float y, float w, float h) {
-		if (w != h) {
-			// Erreur ou
-			h = w;
-		}
-		super.SetGraphicalProperties(x, y, w, h);
-	}
-
 	/**
 	 * Returns a string representing the given line in Ascii
 	 * 
@@ -327,90 +688,4 @@ public class Piece extends GraphicalObject {
 
 		return builder.toString() + spacesBody();
 	}
-
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		for (var i = 0; i < xSize; i++) {
-			for (var j = 0; j < ySize; j++) {
-				if (_body[i][j]) {
-					var square = new Rectangle2D.Float(topLeftX + i * width, topLeftY + j * width, width, width);
-					graphics.setColor(_color);
-					graphics.fill(square);
-					graphics.setColor(Color.BLACK);
-					graphics.draw(square);
-				}
-			}
-		}
-	}
-
-	/**
-	 * Draws a square containing the piece informations
-	 * 
-	 * @param graphics
-	 * @param height
-	 * @param width
-	 */
-	public void drawInformations(Graphics2D graphics, float height, float width) {
-		Objects.requireNonNull(graphics);
-		var side = height / 3 * 2;
-		var h = height / 6;
-		var w = width / 2 - side / 2;
-		var startWritting = w + side / 3 * 2;
-		float x = w;
-		float y = h;
-		var grid = new Rectangle2D.Float(x, y, side, side);
-		graphics.setColor(Color.LIGHT_GRAY);
-		graphics.fill(grid);
-		graphics.setStroke(new BasicStroke(5));
-		graphics.setColor(Color.BLACK);
-		graphics.draw(grid);
-
-		graphics.setFont(new Font("default", Font.BOLD, 25));
-		x += 10;
-		y += 50;
-		graphics.drawString("Piece informations", x, y);
-		x = startWritting;
-		y = h + side / 2;
-		graphics.drawString("Cost : " + _cost, x, y);
-		y += 50;
-		graphics.drawString("Moves : " + _moves, x, y);
-		y += 50;
-		graphics.drawString("Buttons : " + _buttons, x, y);
-		var res = Math.min(proportionalSize(true), proportionalSize(false));
-
-		var xPos = w + 10;
-		var yPos = h + side / 3;
-		for (var i = 0; i < xSize; i++) {
-			for (var j = 0; j < ySize; j++) {
-				if (_body[i][j]) {
-					var square = new Rectangle2D.Float(xPos + i * res, yPos + j * res, res, res);
-					graphics.setColor(_color);
-					graphics.fill(square);
-					graphics.setColor(Color.BLACK);
-					graphics.draw(square);
-				}
-			}
-		}
-	}
-
-	/**
-	 * returns the size of a cube using the reference 100px for 3 cubes
-	 * 
-	 * @param xCoordinate
-	 * @return
-	 */
-	private int proportionalSize(boolean xCoordinate) {
-		int cubeCount = 3;
-		int size = 100;
-		int res;
-		if (xCoordinate) {
-			res = xSize * size / cubeCount;
-		} else {
-			res = ySize * size / cubeCount;
-		}
-		if (res > 100) {
-			return res - 100;
-		}
-		return res;
-	}
 }
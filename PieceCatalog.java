@@ -0,0 +1,115 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class interns the pieces by their description line. Each distinct line
+ * is parsed only once, its orientations, placement tables and solid rectangles
+ * are then shared by every piece created from it. The shared prototypes can't
+ * be modified, a deck gets its own copies with {@link #newPiece(String)}
+ * because the pieces of the market are told apart by identity.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class PieceCatalog {
+	/**
+	 * Description of the 1x1 leather patch found on the time board.
+	 */
+	public static final String PATCH_LINE = "1:0:0:0";
+
+	private static final ConcurrentHashMap<String, Piece> PROTOTYPES = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Long, Piece> CODES = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Path, List<String>> FILES = new ConcurrentHashMap<>();
+	private static final Piece PATCH = get(PATCH_LINE);
+
+	private PieceCatalog() {
+	}
+
+	/**
+	 * Returns the shared piece described by the given line, parsing it the first
+	 * time only.
+	 *
+	 * @param line : a line describing a piece
+	 * @return the shared piece
+	 */
+	public static Piece get(String line) {
+		Objects.requireNonNull(line);
+		return PROTOTYPES.computeIfAbsent(line, Piece::parse);
+	}
+
+	/**
+	 * Returns the shared piece rebuilt from the given code, decoding it the first
+	 * time only.
+	 *
+	 * @param code : a code returned by {@link Piece#encode()}
+	 * @return the shared piece
+	 */
+	public static Piece get(long code) {
+		return CODES.computeIfAbsent(code, Piece::decode);
+	}
+
+	/**
+	 * Returns the shared 1x1 leather patch. Every player crossing a patch box
+	 * gets this same instance.
+	 *
+	 * @return the leather patch
+	 */
+	public static Piece getPatch() {
+		return PATCH;
+	}
+
+	/**
+	 * Returns a new piece described by the given line, it shares the shape of
+	 * the interned piece but has its own identity and color.
+	 *
+	 * @param line : a line describing a piece
+	 * @param random : the random of the game, used to choose the color
+	 * @return a new piece
+	 */
+	public static Piece newPiece(String line, GameRandom random) {
+		return get(line).duplicate(random);
+	}
+
+	/**
+	 * Returns the lines of the given file, the file being read only the first
+	 * time.
+	 *
+	 * @param path : path to the file
+	 * @return lines of the file, can't be modified
+	 * @throws IOException : if the file can't be read
+	 */
+	public static List<String> lines(Path path) throws IOException {
+		Objects.requireNonNull(path);
+		var lines = FILES.get(path);
+		if (lines == null) {
+			lines = List.copyOf(Files.readAllLines(path));
+			var previous = FILES.putIfAbsent(path, lines);
+			if (previous != null) {
+				lines = previous;
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Returns the shared pieces described by the lines of the given file.
+	 *
+	 * @param path : path to the file
+	 * @return the shared pieces
+	 * @throws IOException : if the file can't be read
+	 */
+	public static List<Piece> load(Path path) throws IOException {
+		var pieces = new ArrayList<Piece>();
+		for (var line : lines(path)) {
+			pieces.add(get(line));
+		}
+		return pieces;
+	}
+}
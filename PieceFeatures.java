@@ -0,0 +1,140 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+
+/**
+ * This record stores the features of a piece that don't depend on its
+ * orientation : the shape (area, perimeter, corners, bounding box) and the
+ * stats. They are computed once when the piece is parsed, so the filters and
+ * the evaluators never scan the body of a piece again.
+ *
+ * @param area         : number of cells covered by the piece
+ * @param perimeter    : number of sides of the cells that are on the border of
+ *                     the piece
+ * @param corners      : number of corners of the outline of the piece
+ * @param boundingArea : number of cells of the smallest rectangle containing
+ *                     the piece
+ * @param cost         : cost of the piece in buttons
+ * @param moves        : number of moves on the time board
+ * @param buttons      : number of buttons on the piece
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public record PieceFeatures(int area, int perimeter, int corners, int boundingArea, int cost, int moves,
+		int buttons) {
+	/**
+	 * Construct a new PieceFeatures, checking the shape values.
+	 */
+	public PieceFeatures {
+		if (area <= 0 || perimeter <= 0 || corners < 4 || boundingArea < area) {
+			throw new IllegalArgumentException("Invalid shape");
+		}
+	}
+
+	/**
+	 * Computes the features of the given piece by scanning its body.
+	 *
+	 * @param piece : a parsed piece
+	 * @return the features of the piece
+	 */
+	public static PieceFeatures of(Piece piece) {
+		Objects.requireNonNull(piece);
+		var lines = piece.getYSize();
+		var cols = piece.getXSize();
+		var area = 0;
+		var perimeter = 0;
+		for (int line = 0; line < lines; line++) {
+			for (int col = 0; col < cols; col++) {
+				if (covered(piece, line, col)) {
+					area++;
+					perimeter += (covered(piece, line - 1, col) ? 0 : 1) + (covered(piece, line + 1, col) ? 0 : 1)
+							+ (covered(piece, line, col - 1) ? 0 : 1) + (covered(piece, line, col + 1) ? 0 : 1);
+				}
+			}
+		}
+		var corners = 0;
+		// every point of the grid is looked at with its 4 surrounding cells
+		for (int line = 0; line <= lines; line++) {
+			for (int col = 0; col <= cols; col++) {
+				var topLeft = covered(piece, line - 1, col - 1);
+				var topRight = covered(piece, line - 1, col);
+				var bottomLeft = covered(piece, line, col - 1);
+				var bottomRight = covered(piece, line, col);
+				var count = (topLeft ? 1 : 0) + (topRight ? 1 : 0) + (bottomLeft ? 1 : 0) + (bottomRight ? 1 : 0);
+				if (count == 1 || count == 3) {
+					corners++;
+				} else if (count == 2 && topLeft == bottomRight) {
+					// two cells touching by a corner only
+					corners += 2;
+				}
+			}
+		}
+		return new PieceFeatures(area, perimeter, corners, lines * cols, piece.getCost(), piece.getMoves(),
+				piece.getButtons());
+	}
+
+	/**
+	 * Returns the part of the bounding box covered by the piece, 1 for a
+	 * rectangle.
+	 *
+	 * @return ratio between 0 and 1
+	 */
+	public double fillRatio() {
+		return (double) area / boundingArea;
+	}
+
+	/**
+	 * Returns the number of buttons earned per button spent, a free piece counts
+	 * as costing one button.
+	 *
+	 * @return buttons per cost
+	 */
+	public double buttonsPerCost() {
+		return (double) buttons / Math.max(cost, 1);
+	}
+
+	/**
+	 * Returns the number of cells covered per button spent, a free piece counts
+	 * as costing one button.
+	 *
+	 * @return area per cost
+	 */
+	public double areaPerCost() {
+		return (double) area / Math.max(cost, 1);
+	}
+
+	/**
+	 * Returns the number of cells covered per move on the time board, a piece
+	 * without move counts as one move.
+	 *
+	 * @return area per move
+	 */
+	public double areaPerMove() {
+		return (double) area / Math.max(moves, 1);
+	}
+
+	/**
+	 * Returns the number of buttons earned per move on the time board, a piece
+	 * without move counts as one move.
+	 *
+	 * @return buttons per move
+	 */
+	public double buttonsPerMove() {
+		return (double) buttons / Math.max(moves, 1);
+	}
+
+	/**
+	 * Checks if the cell at the (line, col) coordinates is covered by the piece,
+	 * the cells outside of the body are not.
+	 *
+	 * @param piece : the piece
+	 * @param line  : line of the cell
+	 * @param col   : column of the cell
+	 * @return true if the cell is covered
+	 */
+	private static boolean covered(Piece piece, int line, int col) {
+		return line >= 0 && col >= 0 && line < piece.getYSize() && col < piece.getXSize()
+				&& piece.getBodyValue(line, col);
+	}
+}
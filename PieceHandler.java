@@ -1,60 +1,58 @@
 package fr.uge.patchwork;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 
-
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Line2D;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
- * This class stores all the pieces in a list as well as
- * the position of the neutral pawn. 
+ * This class stores all the pieces in a ring, the neutral
+ * pawn being just before its cursor. 
  * 
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class PieceHandler extends GraphicalObject {
-	private static final PieceHandler _instance = new PieceHandler();
+public class PieceHandler {
+	/**
+	 * File of the pieces made of 4 cubes, given by the DRAW special box.
+	 */
+	public static final String CUBE_PIECES = "pieces_4_cubes";
 
-	private final ArrayList<Piece> _pieces;
+	private final PieceRing _pieces;
+	private final List<Piece> _selectable;
+	// every piece added to the game, its index being its id in a saved ring
+	private final ArrayList<Piece> _loaded;
+	private final IdentityHashMap<Piece, Integer> _ids;
+	// Zobrist hash of the pieces in the ring
+	private long _hash;
 	private int _piecesDisplayed;
-	private int _posNeutralPawn;
 	private boolean _display;
 	
 	private final static int selectableNumber = 3; 
 
 	/**
-	 * Constructs a new PieceHandler.
+	 * Constructs a new PieceHandler without pieces, each game
+	 * has its own.
 	 */
-	private PieceHandler() {
-		_pieces = new ArrayList<>();
+	public PieceHandler() {
+		_pieces = new PieceRing(40);
+		_selectable = _pieces.window(selectableNumber);
+		_loaded = new ArrayList<Piece>();
+		_ids = new IdentityHashMap<Piece, Integer>();
 		_piecesDisplayed = 12;
-		_posNeutralPawn = 0;
 	}
 
 	/**
-	 * Calls the constructor.
+	 * Getter for the number of pieces displayed after the neutral pawn.
 	 * 
-	 * @return the new PieceHandler
+	 * @return number of pieces displayed
 	 */
-	public static PieceHandler Handler() {
-		return _instance;
+	public int getPiecesDisplayed() {
+		return _piecesDisplayed;
 	}
-
-	/**
-	 * The method return the neutral pawn's position
-	 * @return int
-	 */
-	public int getPosNeutralPawn() {
- 		return _posNeutralPawn;
- 	}
 	
 	/**
 	 * Getter for the size of the list pieces.
@@ -66,53 +64,31 @@ public class PieceHandler extends GraphicalObject {
 	}
 
 	/**
-	 * Getter for the list pieces.
-	 * 
-	 * @return pieces
-	 */
-	public List<Piece> getPieces() {
-		return _pieces;
-	}
-
-	/**
-	 * If the given index is greater or equal to the size of the list returns the index
-	 * minus the size
+	 * Shuffles the pieces with the given random.
 	 * 
-	 * @param index : index you want to test
-	 * @return real Index
+	 * @param random : the random used
 	 */
-	private int getRealIndex(int index) {
-		while (index >= _pieces.size()) {
-			index = index - _pieces.size();
-		}
-		return index;
+	public void shuffle(GameRandom random) {
+		_pieces.shuffle(random);
 	}
 
 	/**
-	 * Returns the piece at the given index.
+	 * Returns the piece at the given index after the neutral pawn.
 	 * 
 	 * @param index : index of the piece
 	 * @return the Piece
 	 */
 	public Piece getPiece(int index) {
-		index = getRealIndex(index + _posNeutralPawn);
-		if (index >= _pieces.size()) {
-			throw new ArrayIndexOutOfBoundsException("Index must be strictly smaller than the size of pieces");
-		}
 		return _pieces.get(index);
 	}
 	
 	/**
-	 * the method returns the list of the pieces the player can choose
-	 * @return ArrayList of Piece object
+	 * the method returns the list of the pieces the player can choose,
+	 * the list follows the neutral pawn and is not copied
+	 * @return List of Piece object, can't be modified
 	 */
-	public ArrayList<Piece> getSelectablePieces() {
- 		var lst = new ArrayList<Piece>();
- 		for (int i = 0; i < 3 && i < _pieces.size(); i++) {
- 			lst.add(this.getPiece(_posNeutralPawn + i));
- 		}
-
- 		return lst;
+	public List<Piece> getSelectablePieces() {
+ 		return _selectable;
  	}
 	
 	/**
@@ -139,8 +115,84 @@ public class PieceHandler extends GraphicalObject {
 	 */
 	public boolean add(Piece p) {
 		Objects.requireNonNull(p);
-		Objects.requireNonNull(p);
-		return _pieces.add(p);
+		if (!_ids.containsKey(p)) {
+			if (_loaded.size() == Zobrist.MAX_PIECES) {
+				throw new IllegalStateException("Too many pieces in a game");
+			}
+			_ids.put(p, _loaded.size());
+			_loaded.add(p);
+		}
+		_pieces.add(p);
+		_hash ^= Zobrist.piece(_ids.get(p));
+		return true;
+	}
+
+	/**
+	 * Returns the pieces of the ring from the neutral pawn, each piece being
+	 * its id, the order in which it was added to the game.
+	 * 
+	 * @return the ids of the pieces
+	 */
+	public byte[] saveRing() {
+		var pieces = new Piece[_pieces.size()];
+		_pieces.copyTo(pieces);
+		var ids = new byte[pieces.length];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = (byte) (int) _ids.get(pieces[i]);
+		}
+		return ids;
+	}
+
+	/**
+	 * Replaces the pieces of the ring with the pieces of the given ids
+	 * returned by saveRing, the neutral pawn being before the first one.
+	 * 
+	 * @param ids : the ids of the pieces
+	 */
+	public void restoreRing(byte[] ids) {
+		Objects.requireNonNull(ids);
+		_pieces.clear();
+		_hash = 0;
+		for (var id : ids) {
+			_pieces.add(_loaded.get(Byte.toUnsignedInt(id)));
+			_hash ^= Zobrist.piece(Byte.toUnsignedInt(id));
+		}
+	}
+
+	/**
+	 * Returns the Zobrist hash of the pieces left and of the place of the
+	 * neutral pawn. The pieces are hashed when they are added or bought, only
+	 * the key of the neutral pawn is computed here.
+	 * 
+	 * @return the hash
+	 */
+	public long getHash() {
+		if (_pieces.size() == 0) {
+			return _hash;
+		}
+		return _hash ^ Zobrist.neutralPawn(_ids.get(_pieces.get(0)));
+	}
+
+	/**
+	 * Returns the piece of the given id.
+	 * 
+	 * @param id : id of the piece, the order in which it was added to the game
+	 * @return the piece
+	 */
+	public Piece getPieceById(int id) {
+		return _loaded.get(id);
+	}
+
+	/**
+	 * Returns the id of the given piece of the game.
+	 * 
+	 * @param piece : the piece
+	 * @return the id, -1 if the piece was never added to the game
+	 */
+	public int getPieceId(Piece piece) {
+		Objects.requireNonNull(piece);
+		var id = _ids.get(piece);
+		return (id == null) ? -1 : id;
 	}
 
 	/**
@@ -148,10 +200,25 @@ public class PieceHandler extends GraphicalObject {
 	 * 
 	 * @param p : the piece you want to remove
 	 */
-	public void remove(Object p) {
+	public void remove(Piece p) {
 		Objects.requireNonNull(p);
-		Objects.requireNonNull(p);
-		_pieces.remove(p);
+		if (_pieces.remove(p)) {
+			_hash ^= Zobrist.piece(_ids.get(p));
+		}
+	}
+
+	/**
+	 * Removes the piece at the given index after the neutral pawn
+	 * and moves the neutral pawn in its place.
+	 * 
+	 * @param index : index of the piece
+	 * @return the removed piece
+	 */
+	public Piece buy(int index) {
+		var piece = _pieces.removeAt(index);
+		_pieces.advance(index);
+		_hash ^= Zobrist.piece(_ids.get(piece));
+		return piece;
 	}
 
 	/**
@@ -159,17 +226,44 @@ public class PieceHandler extends GraphicalObject {
 	 * of a file.
 	 * 
 	 * @param path : path to the file 
+	 * @param random : the random of the game, used to choose the colors
 	 * @throws IOException : if file not find
 	 */
-	public void loadPieces(Path path) throws IOException {
+	public void loadPieces(Path path, GameRandom random) throws IOException {
+		loadPieces(path, Constants.GRID_SIZE.getValue(), random);
+	}
+
+	/**
+	 * Initializes the list of pieces by parsing the lines
+	 * of a file, their placements being computed for quilt
+	 * boards of the given size.
+	 * 
+	 * @param path : path to the file 
+	 * @param gridSize : number of cells on a side of the quilt boards
+	 * @param random : the random of the game, used to choose the colors
+	 * @throws IOException : if file not find
+	 */
+	public void loadPieces(Path path, int gridSize, GameRandom random) throws IOException {
 		Objects.requireNonNull(path);
-		try (var reader = Files.newBufferedReader(path)) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				var p = new Piece();
-				p.parseLine(line);
-				add(p);
-			}
+		loadPieces(PieceCatalog.load(path), gridSize, random);
+	}
+
+	/**
+	 * Initializes the list of pieces with a copy of each
+	 * given shared piece, their placements being computed
+	 * for quilt boards of the given size.
+	 * 
+	 * @param shared : the shared pieces, they are not modified
+	 * @param gridSize : number of cells on a side of the quilt boards
+	 * @param random : the random of the game, used to choose the colors
+	 */
+	public void loadPieces(List<Piece> shared, int gridSize, GameRandom random) {
+		Objects.requireNonNull(shared);
+		Objects.requireNonNull(random);
+		for (var piece : shared) {
+			var p = piece.duplicate(random);
+			p.preparePlacements(gridSize);
+			add(p);
 		}
 	}
 	
@@ -182,7 +276,7 @@ public class PieceHandler extends GraphicalObject {
 		if (nbMove < 0) {
 			throw new IllegalArgumentException("The neutral pawn must only move forward");
 		}
-		_posNeutralPawn = getRealIndex(_posNeutralPawn + nbMove);
+		_pieces.advance(nbMove);
 	}
 	
 	/**
@@ -202,16 +296,12 @@ public class PieceHandler extends GraphicalObject {
 	 */
 	public Piece[] cubePieces() {
 		Piece pieces[] = new Piece[10];
-		int i = 0;
 		try {
-			try (var reader = Files.newBufferedReader(Path.of("pieces_4_cubes"))) {
-				String line;
-				while ((line = reader.readLine()) != null) {
-					var p = new Piece();
-					p.parseLine(line);
-					pieces[i] = p;
-					i++;
-				}
+			var bundle = AssetBundle.getDefault();
+			var shared = (bundle != null && bundle.getPieces(CUBE_PIECES) != null) ? bundle.getPieces(CUBE_PIECES)
+					: PieceCatalog.load(Path.of(CUBE_PIECES));
+			for (int i = 0; i < shared.size(); i++) {
+				pieces[i] = shared.get(i);
 			}
 		} catch (IOException e) {
 			System.err.println(e.getMessage());
@@ -222,67 +312,6 @@ public class PieceHandler extends GraphicalObject {
 	}
 	
 	
-	/**
-	 * the function draws a line from the end of the quiltboard to the end of the window
-	 * @param context
-	 * @param x
-	 * @param height
-	 */
-	private void drawDelimitation(Graphics2D graphics, float x, float height) {
-		var line = new Line2D.Float(x, Constants.BOX_SIZE.getValue(), x, height - 5);
-			graphics.setStroke(new BasicStroke(5));
-    		graphics.setColor(Color.BLACK);
-    		graphics.draw(line);
-	}
-	
-	/**
-	 * The function draws the PieceHandler
-	 * @param context
-	 * @param topX
-	 * @param width
-	 * @param height
-	 */
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		float x = topLeftX;
-		float y = Constants.BOX_SIZE.getValue() + 100;
-		float biggestY = 0;
-		drawDelimitation(graphics, x - 10, height);
-		graphics.setStroke(new BasicStroke(2));
-		for (int i = 0; i < _piecesDisplayed && i < _posNeutralPawn + _pieces.size(); i++) {
-			var index = getRealIndex(i + _posNeutralPawn);
-			var piece = _pieces.get(index);
-			if (y + piece.getYSize() >=  height) {
-				return;
-			}
-			if (piece.getXSize() * Constants.PIECE_SQUARE.getValue() + x >= width) {
-				x = topLeftX;
-				y += biggestY + 50;
-				biggestY = 0;
-			}
-			piece.SetGraphicalProperties(x, y, Constants.PIECE_SQUARE.getValue());
-			piece.draw(graphics);
-			x += piece.getXSize() * Constants.PIECE_SQUARE.getValue() + 50;
-			biggestY = (piece.getYSize() * Constants.PIECE_SQUARE.getValue() > biggestY)? piece.getYSize()  * Constants.PIECE_SQUARE.getValue() : biggestY; 
-		}
-	}
-	
-	/**
-	 * Gets a piece and draws its informations on the window.
-	 * @param graphics : object that calls the graphic methods.
-	 * @param height : height of the square in which the informations are.
-	 * @param width : width of the square in which the informations are.
-	 * @param number : max number of displayed piece.
-	 */
-	public void action(Graphics2D graphics, float height, float width, int number) {
-		Objects.requireNonNull(graphics);
-		if (_piecesDisplayed < number) {
-			return;
-		}
-		var index = getRealIndex(number + _posNeutralPawn);
-		_pieces.get(index).drawInformations(graphics, height, width);
-	}
-	
 	/**
 	 * This class handles the graphic Ascii methods
 	 */
@@ -339,12 +368,10 @@ public class PieceHandler extends GraphicalObject {
 		 */
 		private String bodyString() {
 			var builder = new StringBuilder();
-			int index;
 			
 			for (int line = 0; line < getBiggestPiece(); line++) {
 				for (int j = 0; j < _piecesDisplayed && j < _pieces.size(); j++) {
-					index = getRealIndex(j + _posNeutralPawn);
-					builder.append(_pieces.get(index).bodyLine(line));
+					builder.append(_pieces.get(j).bodyLine(line));
 				}
 				builder.append("\n");
 			}
@@ -358,9 +385,9 @@ public class PieceHandler extends GraphicalObject {
 		 */
 		private int getBiggestPiece() {
 			int pieceHeight;
-			var maxHeight = _pieces.get(_posNeutralPawn).getYSize();
+			var maxHeight = _pieces.get(0).getYSize();
 			for (int i = 1; i < _piecesDisplayed && i < _pieces.size(); i++) {
-				pieceHeight = _pieces.get(getRealIndex(i + _posNeutralPawn)).getYSize();
+				pieceHeight = _pieces.get(i).getYSize();
 				if (maxHeight < pieceHeight) {
 					maxHeight = pieceHeight;
 				}
@@ -405,13 +432,11 @@ public class PieceHandler extends GraphicalObject {
 			var cost = new StringBuilder();
 			var moves = new StringBuilder();
 			var button = new StringBuilder();
-			int index;
 
-			for (int i = _posNeutralPawn; i < _posNeutralPawn + _piecesDisplayed && i < _pieces.size(); i++) {
-				index = getRealIndex(i);
-				cost.append(costString(index));
-				moves.append(movesString(index));
-				button.append(buttonString(index));
+			for (int i = 0; i < _piecesDisplayed && i < _pieces.size(); i++) {
+				cost.append(costString(i));
+				moves.append(movesString(i));
+				button.append(buttonString(i));
 			}
 			System.out.println(bodyString());
 			System.out.println(cost.toString());
@@ -0,0 +1,104 @@
+package fr.uge.patchwork;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Line2D;
+import java.util.Objects;
+
+/**
+ * This class draws the pieces of the market, starting from the neutral pawn,
+ * and the informations of the selected piece.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class PieceHandlerView extends GraphicalObject {
+	private final PieceHandler _pieceHandler;
+	private PieceView _pieceView;
+
+	/**
+	 * Constructs a new PieceHandlerView drawing the pieces of the given handler.
+	 * 
+	 * @param pieceHandler : the piece handler
+	 */
+	public PieceHandlerView(PieceHandler pieceHandler) {
+		Objects.requireNonNull(pieceHandler);
+		_pieceHandler = pieceHandler;
+	}
+
+	/**
+	 * Returns the view of the given piece.
+	 * 
+	 * @param piece : the piece
+	 * @return the view
+	 */
+	private PieceView pieceView(Piece piece) {
+		if (_pieceView == null) {
+			_pieceView = new PieceView(piece);
+		}
+		_pieceView.setPiece(piece);
+		return _pieceView;
+	}
+
+	/**
+	 * the function draws a line from the end of the quiltboard to the end of the window
+	 * @param graphics
+	 * @param x
+	 * @param height
+	 */
+	private void drawDelimitation(Graphics2D graphics, float x, float height) {
+		var line = new Line2D.Float(x, Constants.BOX_SIZE.getValue(), x, height - 5);
+			graphics.setStroke(new BasicStroke(5));
+    		graphics.setColor(Color.BLACK);
+    		graphics.draw(line);
+	}
+	
+	/**
+	 * The function draws the PieceHandler
+	 * @param context
+	 * @param topX
+	 * @param width
+	 * @param height
+	 */
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		float x = topLeftX;
+		float y = Constants.BOX_SIZE.getValue() + 100;
+		float biggestY = 0;
+		drawDelimitation(graphics, x - 10, height);
+		graphics.setStroke(new BasicStroke(2));
+		var size = _pieceHandler.getSize();
+		for (int i = 0; i < _pieceHandler.getPiecesDisplayed() && i < size; i++) {
+			var piece = _pieceHandler.getPiece(i);
+			if (y + piece.getYSize() >=  height) {
+				return;
+			}
+			if (piece.getXSize() * Constants.PIECE_SQUARE.getValue() + x >= width) {
+				x = topLeftX;
+				y += biggestY + 50;
+				biggestY = 0;
+			}
+			var view = pieceView(piece);
+			view.SetGraphicalProperties(x, y, Constants.PIECE_SQUARE.getValue());
+			view.draw(graphics);
+			x += piece.getXSize() * Constants.PIECE_SQUARE.getValue() + 50;
+			biggestY = (piece.getYSize() * Constants.PIECE_SQUARE.getValue() > biggestY)? piece.getYSize()  * Constants.PIECE_SQUARE.getValue() : biggestY; 
+		}
+	}
+	
+	/**
+	 * Gets a piece and draws its informations on the window.
+	 * @param graphics : object that calls the graphic methods.
+	 * @param height : height of the square in which the informations are.
+	 * @param width : width of the square in which the informations are.
+	 * @param number : max number of displayed piece.
+	 */
+	public void action(Graphics2D graphics, float height, float width, int number) {
+		Objects.requireNonNull(graphics);
+		if (_pieceHandler.getPiecesDisplayed() < number) {
+			return;
+		}
+		pieceView(_pieceHandler.getPiece(number)).drawInformations(graphics, height, width);
+	}
+}
@@ -0,0 +1,270 @@
+package fr.uge.patchwork;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class stores the circle of pieces around the neutral pawn. The pieces
+ * are linked in both directions through arrays of indexes, the cursor being
+ * the piece just after the neutral pawn. Removing a piece and moving the
+ * neutral pawn only relink a few indexes, nothing is shifted nor searched in
+ * the whole circle.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class PieceRing {
+	private static final int NONE = -1;
+
+	private Piece[] _pieces;
+	private int[] _next;
+	private int[] _previous;
+	private int _slots;
+	private int _size;
+	private int _cursor = NONE;
+
+	/**
+	 * Constructs a new empty PieceRing.
+	 *
+	 * @param capacity : number of pieces expected, the ring grows if needed
+	 */
+	public PieceRing(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive");
+		}
+		_pieces = new Piece[capacity];
+		_next = new int[capacity];
+		_previous = new int[capacity];
+	}
+
+	/**
+	 * Getter for the number of pieces in the ring.
+	 *
+	 * @return number of pieces
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Adds the given piece at the end of the circle, just before the cursor.
+	 *
+	 * @param piece : the piece to add
+	 */
+	public void add(Piece piece) {
+		Objects.requireNonNull(piece);
+		if (_slots == _pieces.length) {
+			grow();
+		}
+		var slot = _slots++;
+		_pieces[slot] = piece;
+		if (_cursor == NONE) {
+			_next[slot] = slot;
+			_previous[slot] = slot;
+			_cursor = slot;
+		} else {
+			var last = _previous[_cursor];
+			_next[last] = slot;
+			_previous[slot] = last;
+			_next[slot] = _cursor;
+			_previous[_cursor] = slot;
+		}
+		_size++;
+	}
+
+	/**
+	 * Returns the piece at the given index after the cursor, the index going
+	 * around the circle if it is greater than the number of pieces.
+	 *
+	 * @param index : index of the piece, 0 being the cursor
+	 * @return the piece
+	 */
+	public Piece get(int index) {
+		return _pieces[slot(index)];
+	}
+
+	/**
+	 * Moves the cursor by the given number of pieces.
+	 *
+	 * @param count : number of pieces
+	 */
+	public void advance(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("The cursor must only move forward");
+		}
+		if (_size != 0) {
+			_cursor = slot(count);
+		}
+	}
+
+	/**
+	 * Removes the piece at the given index after the cursor. If the piece is the
+	 * one of the cursor, the cursor moves to the next piece.
+	 *
+	 * @param index : index of the piece, 0 being the cursor
+	 * @return the removed piece
+	 */
+	public Piece removeAt(int index) {
+		var slot = slot(index);
+		var piece = _pieces[slot];
+		unlink(slot);
+		return piece;
+	}
+
+	/**
+	 * Removes the given piece, it is looked for from the cursor so the pieces that
+	 * can be bought are found first. If the piece is the one of the cursor, the
+	 * cursor moves to the next piece.
+	 *
+	 * @param piece : the piece to remove
+	 * @return true if the piece was in the ring
+	 */
+	public boolean remove(Piece piece) {
+		Objects.requireNonNull(piece);
+		var slot = _cursor;
+		for (int i = 0; i < _size; i++) {
+			if (_pieces[slot] == piece) {
+				unlink(slot);
+				return true;
+			}
+			slot = _next[slot];
+		}
+		return false;
+	}
+
+	/**
+	 * Copies the pieces of the ring in the given array, in the order of the
+	 * circle from the cursor.
+	 *
+	 * @param pieces : the array, at least as long as the ring
+	 * @return number of pieces copied
+	 */
+	public int copyTo(Piece[] pieces) {
+		Objects.requireNonNull(pieces);
+		if (pieces.length < _size) {
+			throw new IllegalArgumentException("The array is too small");
+		}
+		var slot = _cursor;
+		for (int i = 0; i < _size; i++) {
+			pieces[i] = _pieces[slot];
+			slot = _next[slot];
+		}
+		return _size;
+	}
+
+	/**
+	 * Removes every piece of the ring.
+	 */
+	public void clear() {
+		Arrays.fill(_pieces, null);
+		_slots = 0;
+		_size = 0;
+		_cursor = NONE;
+	}
+
+	/**
+	 * Shuffles the pieces of the ring with the given random.
+	 *
+	 * @param random : the random used
+	 */
+	public void shuffle(GameRandom random) {
+		Objects.requireNonNull(random);
+		var pieces = new ArrayList<Piece>(_size);
+		for (int i = 0; i < _size; i++) {
+			pieces.add(get(i));
+		}
+		random.shuffle(pieces);
+		clear();
+		for (var piece : pieces) {
+			add(piece);
+		}
+	}
+
+	/**
+	 * Returns a view of at most count pieces from the cursor. The view follows
+	 * the changes of the ring, it is meant to be created once and read every
+	 * turn without allocating anything.
+	 *
+	 * @param count : maximal number of pieces of the view
+	 * @return the view, it can't be modified
+	 */
+	public List<Piece> window(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("The number of pieces can't be negative");
+		}
+		return new AbstractList<Piece>() {
+			@Override
+			public Piece get(int index) {
+				Objects.checkIndex(index, size());
+				return PieceRing.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return Math.min(count, _size);
+			}
+		};
+	}
+
+	/**
+	 * Returns the slot of the piece at the given index after the cursor.
+	 *
+	 * @param index : index of the piece, 0 being the cursor
+	 * @return the slot
+	 */
+	private int slot(int index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("The index can't be negative");
+		}
+		if (_size == 0) {
+			throw new IndexOutOfBoundsException("The ring is empty");
+		}
+		var slot = _cursor;
+		var steps = index % _size;
+		if (steps <= _size / 2) {
+			for (int i = 0; i < steps; i++) {
+				slot = _next[slot];
+			}
+		} else {
+			// shorter the other way around
+			for (int i = steps; i < _size; i++) {
+				slot = _previous[slot];
+			}
+		}
+		return slot;
+	}
+
+	/**
+	 * Removes the piece of the given slot from the circle.
+	 *
+	 * @param slot : the slot
+	 */
+	private void unlink(int slot) {
+		_pieces[slot] = null;
+		_size--;
+		if (_size == 0) {
+			_cursor = NONE;
+			return;
+		}
+		var previous = _previous[slot];
+		var next = _next[slot];
+		_next[previous] = next;
+		_previous[next] = previous;
+		if (_cursor == slot) {
+			_cursor = next;
+		}
+	}
+
+	/**
+	 * Doubles the number of slots.
+	 */
+	private void grow() {
+		var capacity = _pieces.length * 2;
+		_pieces = Arrays.copyOf(_pieces, capacity);
+		_next = Arrays.copyOf(_next, capacity);
+		_previous = Arrays.copyOf(_previous, capacity);
+	}
+}
@@ -0,0 +1,149 @@
+package fr.uge.patchwork;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Objects;
+
+/**
+ * This class draws a piece on the window. The piece only stores the index of
+ * its color, this class maps it to an actual color.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class PieceView extends GraphicalObject {
+	private static final Color[] COLORS = { Color.BLUE, Color.RED, Color.GREEN, Color.MAGENTA, Color.CYAN,
+			Color.GRAY, Color.ORANGE, Color.PINK, Color.YELLOW, };
+
+	private Piece _piece;
+
+	/**
+	 * Constructs a new PieceView drawing the given piece.
+	 * 
+	 * @param piece : the piece to draw
+	 */
+	public PieceView(Piece piece) {
+		Objects.requireNonNull(piece);
+		_piece = piece;
+	}
+
+	/**
+	 * Changes the piece drawn by this view.
+	 * 
+	 * @param piece : the piece to draw
+	 */
+	public void setPiece(Piece piece) {
+		Objects.requireNonNull(piece);
+		_piece = piece;
+	}
+
+	/**
+	 * Returns the color of the given piece.
+	 * 
+	 * @param piece : a piece
+	 * @return a class Color representing a color.
+	 */
+	public static Color colorOf(Piece piece) {
+		Objects.requireNonNull(piece);
+		return COLORS[piece.getColor() % COLORS.length];
+	}
+
+	@Override
+	public void SetGraphicalProperties(float x, float y, float w, float h) {
+		if (w != h) {
+			// Erreur ou
+			h = w;
+		}
+		super.SetGraphicalProperties(x, y, w, h);
+	}
+
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		drawCubes(graphics, topLeftX, topLeftY, width);
+	}
+
+	/**
+	 * Draws the cubes of the piece, the top left cube being at the (x, y)
+	 * coordinates.
+	 * 
+	 * @param graphics : object that calls the graphic methods.
+	 * @param x        : x coordinates of the top left corner
+	 * @param y        : y coordinates of the top left corner
+	 * @param cubeSize : size of a cube
+	 */
+	private void drawCubes(Graphics2D graphics, float x, float y, float cubeSize) {
+		var color = colorOf(_piece);
+		for (var i = 0; i < _piece.getXSize(); i++) {
+			for (var j = 0; j < _piece.getYSize(); j++) {
+				if (_piece.getBodyValue(j, i)) {
+					var square = new Rectangle2D.Float(x + i * cubeSize, y + j * cubeSize, cubeSize, cubeSize);
+					graphics.setColor(color);
+					graphics.fill(square);
+					graphics.setColor(Color.BLACK);
+					graphics.draw(square);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws a square containing the piece informations
+	 * 
+	 * @param graphics
+	 * @param height
+	 * @param width
+	 */
+	public void drawInformations(Graphics2D graphics, float height, float width) {
+		Objects.requireNonNull(graphics);
+		var side = height / 3 * 2;
+		var h = height / 6;
+		var w = width / 2 - side / 2;
+		var startWritting = w + side / 3 * 2;
+		float x = w;
+		float y = h;
+		var grid = new Rectangle2D.Float(x, y, side, side);
+		graphics.setColor(Color.LIGHT_GRAY);
+		graphics.fill(grid);
+		graphics.setStroke(new BasicStroke(5));
+		graphics.setColor(Color.BLACK);
+		graphics.draw(grid);
+
+		graphics.setFont(new Font("default", Font.BOLD, 25));
+		x += 10;
+		y += 50;
+		graphics.drawString("Piece informations", x, y);
+		x = startWritting;
+		y = h + side / 2;
+		graphics.drawString("Cost : " + _piece.getCost(), x, y);
+		y += 50;
+		graphics.drawString("Moves : " + _piece.getMoves(), x, y);
+		y += 50;
+		graphics.drawString("Buttons : " + _piece.getButtons(), x, y);
+		var res = Math.min(proportionalSize(true), proportionalSize(false));
+		drawCubes(graphics, w + 10, h + side / 3, res);
+	}
+
+	/**
+	 * returns the size of a cube using the reference 100px for 3 cubes
+	 * 
+	 * @param xCoordinate
+	 * @return
+	 */
+	private int proportionalSize(boolean xCoordinate) {
+		int cubeCount = 3;
+		int size = 100;
+		int res;
+		if (xCoordinate) {
+			res = _piece.getXSize() * size / cubeCount;
+		} else {
+			res = _piece.getYSize() * size / cubeCount;
+		}
+		if (res > 100) {
+			return res - 100;
+		}
+		return res;
+	}
+}
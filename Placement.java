@@ -0,0 +1,30 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+
+/**
+ * This record stores a placement of a piece on a quilt board : the orientation
+ * of the piece and the coordinates of its top left corner, as given to
+ * {@link QuiltBoard#addPiece(Piece, int, int)}.
+ * 
+ * @param orientation : orientation of the piece
+ * @param x : x coordinate of the top left corner of the piece
+ * @param y : y coordinate of the top left corner of the piece
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public record Placement(Piece orientation, int x, int y) {
+	/**
+	 * Construct a new Placement.
+	 * @param orientation : orientation of the piece
+	 * @param x : x coordinate of the top left corner of the piece
+	 * @param y : y coordinate of the top left corner of the piece
+	 */
+	public Placement {
+		Objects.requireNonNull(orientation);
+		if (x < 0 || y < 0) {
+			throw new IllegalArgumentException("Invalid coordinates");
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+
+/**
+ * This class stores, for one orientation of a piece, the mask of the piece at
+ * every coordinates of a quilt board where it fits. It is built once when the
+ * piece is loaded so testing a placement is a single mask AND. The words of
+ * all the masks are also stored one after the other in a single array so the
+ * enumeration of the placements reads contiguous memory.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class PlacementTable {
+	private final int _size;
+	private final BitBoard[] _byOffset;
+	private final BitBoard[] _masks;
+	private final short[] _offsets;
+	private final int _wordCount;
+	private final long[] _words;
+
+	/**
+	 * Constructs the table of the given orientation for a quilt board of the
+	 * given size.
+	 * 
+	 * @param piece : orientation of a piece
+	 * @param size  : size of the quilt board
+	 */
+	public PlacementTable(Piece piece, int size) {
+		Objects.requireNonNull(piece);
+		if (size <= 0) {
+			throw new IllegalArgumentException("Invalid size");
+		}
+		_size = size;
+		_byOffset = new BitBoard[size * size];
+		var count = Math.max(size - piece.getXSize() + 1, 0) * Math.max(size - piece.getYSize() + 1, 0);
+		_masks = new BitBoard[count];
+		_offsets = new short[_masks.length];
+		_wordCount = BitBoard.wordCount(size);
+		_words = new long[count * _wordCount];
+		var i = 0;
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				if (piece.fitArea(x, y, size)) {
+					var mask = new BitBoard(size);
+					for (int line = 0; line < piece.getYSize(); line++) {
+						for (int col = 0; col < piece.getXSize(); col++) {
+							if (piece.getBodyValue(line, col)) {
+								mask.set(y + line, x + col);
+							}
+						}
+					}
+					_byOffset[y * size + x] = mask;
+					_masks[i] = mask;
+					_offsets[i] = (short) (y * size + x);
+					mask.copyTo(_words, i * _wordCount);
+					i++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Getter for the size of the quilt board.
+	 * 
+	 * @return size of the quilt board
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Returns the number of coordinates where the piece fits in the quilt board.
+	 * 
+	 * @return number of placements
+	 */
+	public int getCount() {
+		return _masks.length;
+	}
+
+	/**
+	 * Returns the mask of the i-th placement.
+	 * 
+	 * @param i : index of the placement
+	 * @return mask of the placement
+	 */
+	public BitBoard getMask(int i) {
+		return _masks[i];
+	}
+
+	/**
+	 * Checks if the i-th placement has no filled cell in common with the given
+	 * grid.
+	 * 
+	 * @param grid : a grid of the size of the table
+	 * @param i    : index of the placement
+	 * @return true if the piece can be placed
+	 */
+	public boolean isFree(BitBoard grid, int i) {
+		return !grid.intersects(_words, i * _wordCount);
+	}
+
+	/**
+	 * Returns the x coordinate of the i-th placement.
+	 * 
+	 * @param i : index of the placement
+	 * @return x coordinate
+	 */
+	public int getX(int i) {
+		return _offsets[i] % _size;
+	}
+
+	/**
+	 * Returns the y coordinate of the i-th placement.
+	 * 
+	 * @param i : index of the placement
+	 * @return y coordinate
+	 */
+	public int getY(int i) {
+		return _offsets[i] / _size;
+	}
+
+	/**
+	 * Returns the mask of the piece placed at the (x,y) coordinates.
+	 * 
+	 * @param x : x coordinate
+	 * @param y : y coordinate
+	 * @return the mask, null if the piece does not fit at these coordinates
+	 */
+	public BitBoard getMaskAt(int x, int y) {
+		if (x < 0 || y < 0 || x >= _size || y >= _size) {
+			return null;
+		}
+		return _byOffset[y * _size + x];
+	}
+}
@@ -1,7 +1,6 @@
 package fr.uge.patchwork;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Scanner;
 
@@ -12,7 +11,7 @@ import java.util.Scanner;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public final class Player extends GraphicalObject implements IOpponent {
+public final class Player implements IOpponent {
 	private QuiltBoard _quiltBoard;
 	private int _buttonsCount;
 	private final String _name;
@@ -28,6 +27,18 @@ public final class Player extends GraphicalObject implements IOpponent {
 	 * @param color : player's color
 	 */
 	public Player(String name, String color) {
+		this(name, color, Constants.GRID_SIZE.getValue());
+	}
+
+	/**
+	 * Constructs a new Player with the given name and color and a quilt board of
+	 * the given size
+	 * 
+	 * @param name : player's name
+	 * @param color : player's color
+	 * @param gridSize : number of cells on a side of the quilt board
+	 */
+	public Player(String name, String color, int gridSize) {
 		Objects.requireNonNull(name);
 		Objects.requireNonNull(color);
 		_name = name;
@@ -37,7 +48,7 @@ public final class Player extends GraphicalObject implements IOpponent {
 		_position = 0;
 		_specialTile = false;
 
-		_quiltBoard = new QuiltBoard();
+		_quiltBoard = new QuiltBoard(gridSize);
 	}
 
 	/**
@@ -68,6 +79,15 @@ public final class Player extends GraphicalObject implements IOpponent {
 		return _buttonsCount;
 	}
 	
+	/**
+	 * Getter for the wage of the player
+	 * 
+	 * @return the wage
+	 */
+	public int getWage() {
+		return _wage;
+	}
+	
 	/**
 	 * Getter for the pawn of the player
 	 * 
@@ -158,6 +178,15 @@ public final class Player extends GraphicalObject implements IOpponent {
 		_buttonsCount += nbButtons;
 	}
 	
+	/**
+	 * Returns true if the player got the special tile.
+	 * 
+	 * @return boolean
+	 */
+	public boolean hasSpecialTile() {
+		return _specialTile;
+	}
+
 	/**
 	 * Set the filed _specialTile to True. 
 	 */
@@ -165,6 +194,25 @@ public final class Player extends GraphicalObject implements IOpponent {
 		_specialTile = true;
 	}
 
+	@Override
+	public void saveState(int[] state, int offset) {
+		Objects.requireNonNull(state);
+		state[offset] = _position;
+		state[offset + 1] = _buttonsCount;
+		state[offset + 2] = _wage;
+		state[offset + 3] = _specialTile ? 1 : 0;
+		Arrays.fill(state, offset + 4, offset + STATE_SIZE, 0);
+	}
+
+	@Override
+	public void restoreState(int[] state, int offset) {
+		Objects.requireNonNull(state);
+		setPosition(state[offset]);
+		_buttonsCount = state[offset + 1];
+		_wage = state[offset + 2];
+		_specialTile = state[offset + 3] != 0;
+	}
+
 	/**
 	 * Add the given piece p to the quiltboard of this player
 	 * 
@@ -282,19 +330,6 @@ public final class Player extends GraphicalObject implements IOpponent {
 		move(scanner, piece.getMoves(), timeBoard, version);
 	}
 
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-			var text = "SPECIAL TILE";
-			graphics.drawString(_name, topLeftX, topLeftY);
-			graphics.drawString("You still have " + _buttonsCount + " buttons", topLeftX, topLeftY+15);
-			if (_specialTile) {
-				graphics.setColor(Color.RED);
-				graphics.drawString(text, (topLeftX + width)/2 - (text.length()/2), topLeftY+15);
-			}
-		_quiltBoard.SetGraphicalProperties(0, topLeftY, width, height);
-		_quiltBoard.draw(graphics);
-	}
-	
 	/**
 	 * Handles the movements of a player and especially triggers all
 	 * the event that the player encounters. 
@@ -326,10 +361,8 @@ public final class Player extends GraphicalObject implements IOpponent {
 			payEvent();
 			return null;
 		case PATCH:
-			var patch = new Piece();
-			patch.parseLine("1:0:0:0");
 			currentBox.emptyStatus();
-			return patch;
+			return PieceCatalog.getPatch();
 		default:
 			return null;
 		}
@@ -1,10 +1,6 @@
 package fr.uge.patchwork;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
 import java.util.Objects;
-import java.awt.Font;
 
 /**
  * The class stores an array of players and handles the current player, 
@@ -13,7 +9,7 @@ import java.awt.Font;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class PlayerHandler extends GraphicalObject {
+public class PlayerHandler {
 	private final Player[] _players;
 	private int _current;
 	private boolean _specialTilesRemaining;
@@ -184,50 +180,4 @@ public class PlayerHandler extends GraphicalObject {
 		var winner = getVictoriousPlayer();
 		System.out.println(winner.getName() + " won with " + winner.getScore() + " points");
 	}
-	
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		_players[_current].SetGraphicalProperties(topLeftX, topLeftY, width, height);
-		_players[_current].draw(graphics);
-	}
-	
-	/**
-	 * The function draws a grey rectangle on the window
-	 * @param graphics : object that calls the graphic methods.
-	 */
-	public void cleanSpace(Graphics2D graphics) {
-		Objects.requireNonNull(graphics);
-		graphics.setColor(Color.LIGHT_GRAY);
-		var rect = new Rectangle2D.Float(0, Constants.BOX_SIZE.getValue()+10, width-10, height);
-		graphics.fill(rect);
-	}
-	
-	/**
-	 * the function draw a message at the end of the game to indicate the winner
-	 * @param graphics : object that calls the graphic methods.
-	 * @param wHeight : window height
-	 * @param wWidth : window width
-	 */
-	public void drawVictory(Graphics2D graphics, float wHeight, float wWidth) {
-		Objects.requireNonNull(graphics);
-		var winner = getVictoriousPlayer();
-		var text = "Player " + winner.getName() + " you won this game with " + winner.getScore();
-		graphics.setColor(Color.LIGHT_GRAY);
-		var rect = new Rectangle2D.Float(0, 0, wWidth, wHeight);
-		graphics.fill(rect);
-		graphics.setColor(Color.BLACK);
-		graphics.setFont(new Font("default", Font.BOLD,50));
-		graphics.drawString(text, wWidth/2 - graphics.getFontMetrics().stringWidth(text)/2, wHeight/2);
-	}
-	
 }
-
-
-
-
-
-
-
-
-
-
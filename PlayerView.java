@@ -0,0 +1,65 @@
+package fr.uge.patchwork;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Objects;
+
+/**
+ * This class draws the stats of a player and its quilt board.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class PlayerView extends GraphicalObject {
+	private Player _player;
+	private final QuiltBoardView _quiltBoardView;
+
+	/**
+	 * Constructs a new PlayerView drawing the given player.
+	 * 
+	 * @param player : the player to draw
+	 */
+	public PlayerView(Player player) {
+		Objects.requireNonNull(player);
+		_player = player;
+		_quiltBoardView = new QuiltBoardView(player.getQuiltboard());
+	}
+
+	/**
+	 * Changes the player drawn by this view.
+	 * 
+	 * @param player : the player to draw
+	 */
+	public void setPlayer(Player player) {
+		Objects.requireNonNull(player);
+		_player = player;
+	}
+
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+			var text = "SPECIAL TILE";
+			graphics.drawString(_player.getName(), topLeftX, topLeftY);
+			graphics.drawString("You still have " + _player.getButton() + " buttons", topLeftX, topLeftY+15);
+			if (_player.hasSpecialTile()) {
+				graphics.setColor(Color.RED);
+				graphics.drawString(text, (topLeftX + width)/2 - (text.length()/2), topLeftY+15);
+			}
+		// the quilt board can be switched with the other player's one
+		_quiltBoardView.setQuiltBoard(_player.getQuiltboard());
+		_quiltBoardView.SetGraphicalProperties(0, topLeftY, width, height);
+		_quiltBoardView.draw(graphics);
+	}
+
+	/**
+	 * The function draws a piece on the quilt board of the player on the (x, y)
+	 * coordinates, the player must have been drawn before.
+	 * 
+	 * @param graphics : object that calls the graphic methods.
+	 * @param piece : the piece to draw
+	 * @param x : x coordinate 
+	 * @param y : y coordinate
+	 */
+	public void drawPiece(Graphics2D graphics, Piece piece, int x, int y) {
+		_quiltBoardView.drawPiece(graphics, piece, x, y);
+	}
+}
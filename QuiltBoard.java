@@ -1,31 +1,104 @@
 package fr.uge.patchwork;
 
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * This class stores the information about a quilt board. it also handles adding
+ * This class stores the information about a quilt board in a BitBoard. it also handles adding
  * a piece to it and displaying the grid.
  * 
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class QuiltBoard extends GraphicalObject {
-	private boolean[][] _grid;
+public class QuiltBoard {
+	// masks of the special tile squares, shared by the quilt boards of the same size
+	private static final ConcurrentHashMap<Integer, BitBoard[]> SPECIAL_TILE_WINDOWS = new ConcurrentHashMap<>();
+
+	private final BitBoard _grid;
 	private int _buttons;
 	private final int _size;
+	private final int _specialTileSize;
+	private final BitBoard[] _specialTileWindows;
+	private boolean _specialTile;
+	// Zobrist hash of the filled cells
+	private long _hash;
+
+	// journal of the placements that can be undone
+	private BitBoard[] _journalMasks;
+	private int[] _journalButtons;
+	private boolean[] _journalSpecialTile;
+	private int _journalSize;
+
+	private BestFitPlacer _placer;
+	private final EmptyRegions _regions;
+	// _maxEmptyWidth[h] : widest empty rectangle of height h
+	private final int[] _maxEmptyWidth;
+	private boolean _rectanglesUpToDate;
 
 	/**
-	 * Constructs a new QuiltBoard with 0 buttons.
+	 * Constructs a new QuiltBoard of the default size with 0 buttons.
 	 */
 	public QuiltBoard() {
-		_size = Constants.GRID_SIZE.getValue();
-		_grid = new boolean[_size][_size];
+		this(Constants.GRID_SIZE.getValue());
+	}
+
+	/**
+	 * Constructs a new QuiltBoard of the given size with 0 buttons. The special
+	 * tile is a square two cells smaller than the quilt board, like the seven by
+	 * seven square of the nine by nine quilt board.
+	 * 
+	 * @param size : number of cells on a side of the quilt board
+	 */
+	public QuiltBoard(int size) {
+		this(size, Math.max(size - (Constants.GRID_SIZE.getValue() - Constants.SPECIAL_TILE.getValue()), 1));
+	}
+
+	/**
+	 * Constructs a new QuiltBoard of the given size with 0 buttons.
+	 * 
+	 * @param size            : number of cells on a side of the quilt board
+	 * @param specialTileSize : number of cells on a side of the special tile
+	 */
+	public QuiltBoard(int size, int specialTileSize) {
+		if (size <= 0 || size > BitBoard.MAX_SIZE) {
+			throw new IllegalArgumentException("The size must be between 1 and " + BitBoard.MAX_SIZE);
+		}
+		if (specialTileSize <= 0 || specialTileSize > size) {
+			throw new IllegalArgumentException("The special tile must fit in the quilt board");
+		}
+		_size = size;
+		_specialTileSize = specialTileSize;
+		_specialTileWindows = SPECIAL_TILE_WINDOWS.computeIfAbsent(size * (BitBoard.MAX_SIZE + 1) + specialTileSize,
+				key -> specialTileWindows(size, specialTileSize));
+		_grid = new BitBoard(_size);
 		_buttons = 0;
+		_journalMasks = new BitBoard[8];
+		_journalButtons = new int[8];
+		_journalSpecialTile = new boolean[8];
+		_journalSize = 0;
+		_regions = new EmptyRegions(_size);
+		_maxEmptyWidth = new int[_size + 1];
+		_rectanglesUpToDate = false;
+	}
+
+	/**
+	 * Getter for the number of cells on a side of the quilt board
+	 * 
+	 * @return size of the quilt board
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Getter for the number of cells on a side of the special tile
+	 * 
+	 * @return size of the special tile
+	 */
+	public int getSpecialTileSize() {
+		return _specialTileSize;
 	}
 
 	/**
@@ -37,21 +110,33 @@ public class QuiltBoard extends GraphicalObject {
 		return _buttons;
 	}
 
+	/**
+	 * Getter for the cells of the quilt board. The returned BitBoard must not be
+	 * modified.
+	 * 
+	 * @return cells of the quilt board
+	 */
+	public BitBoard getGrid() {
+		return _grid;
+	}
+
+	/**
+	 * Getter for the Zobrist hash of the filled cells, kept up to date by each
+	 * placement.
+	 * 
+	 * @return the hash
+	 */
+	public long getHash() {
+		return _hash;
+	}
+
 	/**
 	 * Returns the number of empty square in the grid
 	 * 
 	 * @return number of empty square
 	 */
 	public int getEmpty() {
-		var score = 0;
-		for (int i = 0; i < _size; i++) {
-			for (int j = 0; j < _size; j++) {
-				if (!_grid[i][j]) {
-					score++;
-				}
-			}
-		}
-		return score;
+		return _grid.countEmpty();
 	}
 
 	/**
@@ -64,122 +149,350 @@ public class QuiltBoard extends GraphicalObject {
 	 */
 	public boolean addPiece(Piece piece, int x, int y) {
 		Objects.requireNonNull(piece);
-		if (x < 0 || y < 0 || !isPlacebale(piece, x, y)) {
+		var mask = piece.getPlacementTable(_size).getMaskAt(x, y);
+		if (mask == null || _grid.intersects(mask)) {
 			return false;
 		}
-		addButtons(piece.getButtons());
-		for (int i = 0; i < piece.getYSize(); i++) {
-			for (int j = 0; j < piece.getXSize(); j++) {
-				if (piece.getBodyValue(i, j)) {
-					_grid[i + y][j + x] = true;
-				}
-			}
+		place(mask, piece.getButtons());
+		return true;
+	}
+
+	/**
+	 * Places the piece like addPiece but records the placement in a journal so it
+	 * can be undone by popPlacement. Used by the search algorithms to try a
+	 * placement without copying the quilt board.
+	 * 
+	 * @param piece : the piece you want to place
+	 * @param x     : x coordinate
+	 * @param y     : y coordinate
+	 * @return boolean representing success of the placement, nothing is recorded
+	 *         on failure
+	 */
+	public boolean pushPlacement(Piece piece, int x, int y) {
+		Objects.requireNonNull(piece);
+		var mask = piece.getPlacementTable(_size).getMaskAt(x, y);
+		if (mask == null || _grid.intersects(mask)) {
+			return false;
 		}
+		if (_journalSize == _journalMasks.length) {
+			_journalMasks = Arrays.copyOf(_journalMasks, _journalSize * 2);
+			_journalButtons = Arrays.copyOf(_journalButtons, _journalSize * 2);
+			_journalSpecialTile = Arrays.copyOf(_journalSpecialTile, _journalSize * 2);
+		}
+		_journalMasks[_journalSize] = mask;
+		_journalButtons[_journalSize] = piece.getButtons();
+		_journalSpecialTile[_journalSize] = _specialTile;
+		_journalSize++;
+		place(mask, piece.getButtons());
 		return true;
 	}
 
 	/**
-	 * Adds the given piece to the quilt board at the first valid coordinates.
+	 * Undoes the last placement recorded by pushPlacement, restoring the grid,
+	 * the buttons and the special tile status.
+	 */
+	public void popPlacement() {
+		if (_journalSize == 0) {
+			throw new IllegalStateException("There is no placement to undo");
+		}
+		_journalSize--;
+		_grid.andNot(_journalMasks[_journalSize]);
+		_hash ^= _journalMasks[_journalSize].zobrist();
+		_buttons -= _journalButtons[_journalSize];
+		_specialTile = _journalSpecialTile[_journalSize];
+		_journalMasks[_journalSize] = null;
+		_regions.invalidate();
+		_rectanglesUpToDate = false;
+	}
+
+	/**
+	 * Returns the number of placements that can be undone.
+	 * 
+	 * @return number of recorded placements
+	 */
+	public int getJournalSize() {
+		return _journalSize;
+	}
+
+	/**
+	 * Copies the cells of the quilt board in the given array, they take
+	 * BitBoard.wordCount(getSize()) longs.
+	 * 
+	 * @param words  : the array
+	 * @param offset : index of the first word in the array
+	 */
+	public void saveCells(long[] words, int offset) {
+		_grid.copyTo(words, offset);
+	}
+
+	/**
+	 * Replaces the content of the quilt board with the given cells, written by
+	 * saveCells, and the given buttons and special tile status. The journal is
+	 * emptied.
+	 * 
+	 * @param words       : the array
+	 * @param offset      : index of the first word in the array
+	 * @param buttons     : number of buttons on the quilt board
+	 * @param specialTile : true if a special tile square is filled
+	 */
+	public void restore(long[] words, int offset, int buttons, boolean specialTile) {
+		Objects.requireNonNull(words);
+		if (buttons < 0) {
+			throw new IllegalArgumentException("The number of buttons must be positive or equal to zero");
+		}
+		_grid.copyFrom(words, offset);
+		_hash = _grid.zobrist();
+		_buttons = buttons;
+		_specialTile = specialTile;
+		Arrays.fill(_journalMasks, 0, _journalSize, null);
+		_journalSize = 0;
+		_regions.invalidate();
+		_rectanglesUpToDate = false;
+	}
+
+	/**
+	 * Fills the cells of the given mask and updates the buttons and the special
+	 * tile.
+	 * 
+	 * @param mask      : mask of the placed piece
+	 * @param nbButtons : number of buttons on the piece
+	 */
+	private void place(BitBoard mask, int nbButtons) {
+		addButtons(nbButtons);
+		_grid.or(mask);
+		_hash ^= mask.zobrist();
+		updateSpecialTile(mask);
+		_regions.remove(mask);
+		_rectanglesUpToDate = false;
+	}
+
+	/**
+	 * Returns the width of the widest rectangle of empty cells of the given
+	 * height.
+	 * 
+	 * @param height : height of the rectangle
+	 * @return width of the rectangle, 0 if there is none
+	 */
+	public int getMaxEmptyWidth(int height) {
+		if (height <= 0 || height > _size) {
+			return 0;
+		}
+		updateRectangles();
+		return _maxEmptyWidth[height];
+	}
+
+	/**
+	 * Returns the area of the largest rectangle of empty cells.
+	 * 
+	 * @return area of the rectangle
+	 */
+	public int getLargestEmptyRectangle() {
+		updateRectangles();
+		var largest = 0;
+		for (int height = 1; height <= _size; height++) {
+			largest = Math.max(largest, height * _maxEmptyWidth[height]);
+		}
+		return largest;
+	}
+
+	/**
+	 * Quickly checks if the given piece could fit in the quilt board. The piece
+	 * can't fit if it has more cells than the largest group of empty cells, or if
+	 * in every orientation one of its covered rectangles is larger than the empty
+	 * rectangles of the quilt board. A true answer does not guarantee that a legal
+	 * placement exists.
 	 * 
 	 * @param piece : the piece you want to place
+	 * @return false if the piece can't be placed
 	 */
-	public void addPieceAutomatically(Piece piece) {
+	public boolean mayFit(Piece piece) {
 		Objects.requireNonNull(piece);
-		for (int i = 0; i < _size; i++) {
-			for (int j = 0; j < _size; j++) {
-				if (addPiece(piece, j, i)) {
-					return;
-				}
+		var nbCells = piece.getNumberOfBodyParts();
+		if (nbCells > getEmpty() || nbCells > getEmptyRegions().getLargestComponent()) {
+			return false;
+		}
+		updateRectangles();
+		for (var orientation : piece.getOrientations()) {
+			if (rectanglesFit(orientation)) {
+				return true;
 			}
 		}
+		return false;
 	}
 
 	/**
-	 * Creates a String that contains every number to the size
+	 * Checks if every covered rectangle of the given orientation fits in an empty
+	 * rectangle.
 	 * 
-	 * @return String
+	 * @param orientation : orientation of a piece
+	 * @return true if yes, false if not
 	 */
-	public String numberLine() {
-		var builder = new StringBuilder();
-		for (int i = 1; i <= _size; i++) {
-			builder.append(i).append(" ");
+	private boolean rectanglesFit(Piece orientation) {
+		for (int i = 0; i < orientation.getSolidRectangleCount(); i++) {
+			if (_maxEmptyWidth[orientation.getSolidRectangleHeight(i)] < orientation.getSolidRectangleWidth(i)) {
+				return false;
+			}
 		}
-		return builder.toString();
+		return true;
 	}
 
 	/**
-	 * Displays the quilt board in Ascii art.
+	 * Computes the widest empty rectangle of every height if a placement happened
+	 * since the last computation.
 	 */
-	public void display() {
-		var builder = new StringBuilder();
-		builder.append("    " + numberLine() + "\n").append("  +------------------+\n");
-		for (int i = 0; i < _size; i++) {
-			builder.append(i + 1).append(" |");
+	private void updateRectangles() {
+		if (_rectanglesUpToDate) {
+			return;
+		}
+		Arrays.fill(_maxEmptyWidth, 0);
+		var full = (1 << _size) - 1;
+		for (int top = 0; top < _size; top++) {
+			var empty = full;
+			for (int height = 1; top + height <= _size && empty != 0; height++) {
+				empty &= ~_grid.getRow(top + height - 1) & full;
+				_maxEmptyWidth[height] = Math.max(_maxEmptyWidth[height], longestRun(empty));
+			}
+		}
+		_rectanglesUpToDate = true;
+	}
 
-			for (int j = 0; j < _size; j++) {
-				builder.append(_grid[i][j] ? " x" : " .");
+	/**
+	 * Returns the length of the longest run of consecutive bits set to 1.
+	 * 
+	 * @param bits : the bits
+	 * @return length of the run
+	 */
+	private static int longestRun(int bits) {
+		var length = 0;
+		while (bits != 0) {
+			bits &= bits << 1;
+			length++;
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the groups of connected empty cells of the quilt board. They are
+	 * updated by each placement and rebuilt only after a placement was undone.
+	 * 
+	 * @return groups of empty cells
+	 */
+	public EmptyRegions getEmptyRegions() {
+		if (!_regions.isUpToDate()) {
+			_regions.rebuild(_grid);
+		}
+		return _regions;
+	}
+
+	/**
+	 * Returns the number of empty cells that no legal placement of the given
+	 * pieces can cover.
+	 * 
+	 * @param pieces : the remaining pieces
+	 * @return number of unreachable cells
+	 */
+	public int getUnreachableCells(Iterable<Piece> pieces) {
+		Objects.requireNonNull(pieces);
+		var empty = new BitBoard(_size);
+		empty.copy(_grid);
+		empty.complement();
+		var reachable = new BitBoard(_size);
+		for (var piece : pieces) {
+			for (var orientation : piece.getOrientations()) {
+				var table = orientation.getPlacementTable(_size);
+				for (int i = 0; i < table.getCount(); i++) {
+					var mask = table.getMask(i);
+					if (!_grid.intersects(mask)) {
+						reachable.or(mask);
+					}
+				}
+			}
+			if (reachable.sameCells(empty)) {
+				return 0;
 			}
-			builder.append(" |\n");
 		}
-		builder.append("  +------------------+\n");
-		System.out.println(builder.toString());
+		return empty.count() - reachable.count();
 	}
 
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		var infos = getInfos(topLeftX + width, topLeftY, topLeftY + height);
-		var grid = new Rectangle2D.Float(infos.get(0), infos.get(2), infos.get(1), infos.get(1));
-		float cubeSize = infos.get(1) / _size;
-		String s = "Recovered buttons : ";
-		int x = 0, y = 0;
-		for (int i = 0; i < _size; i++) {
-			for (int j = 0; j < _size; j++) {
-				var cube = new Rectangle2D.Float(infos.get(0) + j * cubeSize, infos.get(2) + i * cubeSize, cubeSize, cubeSize);
-				drawPieceCube(graphics, j, i, cube);
-				y = j;
+	/**
+	 * Adds the given piece to the quilt board in the orientation and at the
+	 * coordinates that fragment the quilt board the least.
+	 * 
+	 * @param piece : the piece you want to place
+	 */
+	public void addPieceAutomatically(Piece piece) {
+		Objects.requireNonNull(piece);
+		if (_placer == null) {
+			_placer = new BestFitPlacer();
+		}
+		if (_placer.search(this, piece)) {
+			addPiece(_placer.getOrientation(), _placer.getX(), _placer.getY());
+		}
+	}
+
+	/**
+	 * Gives every legal placement of every orientation of the given piece to the
+	 * visitor, line by line from the top left corner, until the visitor asks to
+	 * stop. The quilt board must not be modified during the enumeration.
+	 * 
+	 * @param piece   : the piece you want to place
+	 * @param visitor : receives the placements
+	 * @return number of placements given to the visitor
+	 */
+	public int forEachPlacement(Piece piece, IPlacementVisitor visitor) {
+		Objects.requireNonNull(piece);
+		Objects.requireNonNull(visitor);
+		var visited = 0;
+		for (var orientation : piece.getOrientations()) {
+			var table = orientation.getPlacementTable(_size);
+			for (int i = 0; i < table.getCount(); i++) {
+				if (table.isFree(_grid, i)) {
+					visited++;
+					if (!visitor.visit(orientation, table.getX(i), table.getY(i))) {
+						return visited;
+					}
+				}
 			}
-			x = i;
 		}
-		graphics.setStroke(new BasicStroke(5));
-		graphics.draw(grid);
-		graphics.drawString(s + _buttons, infos.get(0) + x * cubeSize + s.length(),
-				infos.get(1) + (y + 1) * cubeSize + cubeSize / 3);
+		return visited;
 	}
 
 	/**
-	 * The function draws a piece on the QuiltBoard on the (x, y) coordinates
+	 * Returns the number of legal placements of every orientation of the given
+	 * piece.
 	 * 
-	 * @param graphics : object that calls the graphic methods.
-	 * @param piece : the piece to draw
-	 * @param x : x coordinate 
-	 * @param y : y coordinate
+	 * @param piece : the piece you want to place
+	 * @return number of legal placements
 	 */
-	public void drawPiece(Graphics2D graphics, Piece piece, int x, int y) {
-		Objects.requireNonNull(graphics);
+	public int countPlacements(Piece piece) {
 		Objects.requireNonNull(piece);
-		var infos = getInfos(topLeftX + width, topLeftY, topLeftY + height);
-		float cubeSize = infos.get(1) / _size;
-		piece.SetGraphicalProperties(infos.get(0) + x * cubeSize, infos.get(2) + y * cubeSize, cubeSize);
-		piece.draw(graphics);
+		var count = 0;
+		for (var orientation : piece.getOrientations()) {
+			var table = orientation.getPlacementTable(_size);
+			for (int i = 0; i < table.getCount(); i++) {
+				if (table.isFree(_grid, i)) {
+					count++;
+				}
+			}
+		}
+		return count;
 	}
 
 	/**
-	 * Checks if the quilt board possesses a seven by seven square completely filled
+	 * Checks if at least one orientation of the given piece can be placed.
 	 * 
+	 * @param piece : the piece you want to place
 	 * @return true if yes, false if not
 	 */
-	public boolean checkSpecialTile() {
-		var lenLig = 0;
-		int tileSize = Constants.SPECIAL_TILE.getValue();
-		int boardSize = Constants.GRID_SIZE.getValue();
-		for (int col = 0; col <= boardSize - tileSize; col++) {
-			for (int lig = 0; lig < boardSize; lig++) {
-				if (_grid[col][lig]) {
-					lenLig++;
-				} else {
-					lenLig = 0;
-				}
-				if (lenLig == tileSize && checkSpace(lig - (tileSize - 1), col)) {
+	public boolean canPlace(Piece piece) {
+		Objects.requireNonNull(piece);
+		if (!mayFit(piece)) {
+			return false;
+		}
+		for (var orientation : piece.getOrientations()) {
+			var table = orientation.getPlacementTable(_size);
+			for (int i = 0; i < table.getCount(); i++) {
+				if (table.isFree(_grid, i)) {
 					return true;
 				}
 			}
@@ -188,57 +501,96 @@ public class QuiltBoard extends GraphicalObject {
 	}
 
 	/**
-	 * The function return 3 informations where to start the drawing and the size of
-	 * the square that contains it
+	 * Creates a String that contains every number to the size
 	 * 
-	 * @param bottomX
-	 * @param topY
-	 * @param bottomY
-	 * @return the List of those informations
+	 * @return String
 	 */
-	private List<Float> getInfos(float bottomX, float topY, float bottomY) {
-		float tY = topY + 50; // to have the smallest space on the top and bottom
-		float size = bottomY - 50 - (tY);
-		float tX = (bottomX - size) / 2;
-		return List.of(tX, size, tY);
+	public String numberLine() {
+		var builder = new StringBuilder();
+		var cellWidth = String.valueOf(_size).length() + 1;
+		for (int i = 1; i <= _size; i++) {
+			builder.append(String.format("%-" + cellWidth + "d", i));
+		}
+		return builder.toString();
 	}
 
 	/**
-	 * The function draws a pink cube on the quiltBoard or/and just a square at the
-	 * (i, j) coordinates
+	 * Displays the quilt board in Ascii art.
+	 */
+	public void display() {
+		var builder = new StringBuilder();
+		var digits = String.valueOf(_size).length();
+		var margin = " ".repeat(digits + 1);
+		var padding = " ".repeat(digits);
+		var frame = margin + "+" + "-".repeat(_size * (digits + 1)) + "+\n";
+		builder.append(margin + padding + " " + numberLine() + "\n").append(frame);
+		for (int i = 0; i < _size; i++) {
+			builder.append(String.format("%" + digits + "d", i + 1)).append(" |");
+
+			for (int j = 0; j < _size; j++) {
+				builder.append(padding).append(_grid.get(i, j) ? "x" : ".");
+			}
+			builder.append(" |\n");
+		}
+		builder.append(frame);
+		System.out.println(builder.toString());
+	}
+
+	/**
+	 * Checks if the quilt board possesses a special tile square (seven by seven
+	 * on the default quilt board) completely filled. The answer is kept up to
+	 * date by each placement, so this check is done in constant time.
 	 * 
-	 * @param graphics
-	 * @param i
-	 * @param j
-	 * @param cube     the representation of the cubre
-	 */
-	private void drawPieceCube(Graphics2D graphics, int i, int j, Rectangle2D cube) {
-		if (_grid[j][i]) {
-			graphics.setColor(Color.MAGENTA);
-			graphics.fill(cube);
-			graphics.setColor(Color.BLACK);
+	 * @return true if yes, false if not
+	 */
+	public boolean checkSpecialTile() {
+		return _specialTile;
+	}
+
+	/**
+	 * Updates the special tile status after the given mask has been placed. Only
+	 * the special tile squares that share a cell with the mask can have been
+	 * completed by it.
+	 * 
+	 * @param mask : mask of the placed piece
+	 */
+	private void updateSpecialTile(BitBoard mask) {
+		if (_specialTile) {
+			return;
+		}
+		for (var window : _specialTileWindows) {
+			if (window.intersects(mask) && _grid.contains(window)) {
+				_specialTile = true;
+				return;
+			}
 		}
-		graphics.draw(cube);
 	}
 
 	/**
-	 * Checks if a seven by seven square space is completely filled, starting at the
-	 * coordinates (lig,col).
+	 * Returns the masks of all the squares of the given tile size that fit in a
+	 * quilt board of the given size.
 	 * 
-	 * @param line : starting line
-	 * @param col  : starting column
-	 * @return
+	 * @param boardSize : size of the quilt board
+	 * @param tileSize  : size of the special tile
+	 * @return the masks
 	 */
-	private boolean checkSpace(int line, int col) {
-		int tileSize = Constants.SPECIAL_TILE.getValue();
-		for (int i = 1; i < tileSize; i++) {
+	private static BitBoard[] specialTileWindows(int boardSize, int tileSize) {
+		var square = new BitBoard(boardSize);
+		for (int i = 0; i < tileSize; i++) {
 			for (int j = 0; j < tileSize; j++) {
-				if (!_grid[i + col][j + line]) {
-					return false;
-				}
+				square.set(i, j);
 			}
 		}
-		return true;
+		var positions = boardSize - tileSize + 1;
+		var windows = new BitBoard[positions * positions];
+		for (int line = 0; line < positions; line++) {
+			for (int col = 0; col < positions; col++) {
+				var window = new BitBoard(boardSize);
+				window.or(square, line * boardSize + col);
+				windows[line * positions + col] = window;
+			}
+		}
+		return windows;
 	}
 
 	/**
@@ -252,27 +604,4 @@ public class QuiltBoard extends GraphicalObject {
 		}
 		_buttons += nbButtons;
 	}
-
-	/**
-	 * Checks if the piece is placeable at the (x,y) coordinates.
-	 * 
-	 * @param piece : the piece to place
-	 * @param x     : x coordinates
-	 * @param y     : y coordinates
-	 * @return true if yes, false if not
-	 */
-	private boolean isPlacebale(Piece piece, int x, int y) {
-		if (!piece.fitArea(x, y, _size)) {
-			return false;
-		}
-		for (var i = 0; i < piece.getYSize(); i++) {
-			for (var j = 0; j < piece.getXSize(); j++) {
-				if (_grid[i + y][j + x] && piece.getBodyValue(i, j)) {
-					return false;
-				}
-			}
-		}
-		return true;
-	}
-
 }
@@ -0,0 +1,116 @@
+package fr.uge.patchwork;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class draws a quilt board and the piece being placed on it.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class QuiltBoardView extends GraphicalObject {
+	private QuiltBoard _quiltBoard;
+	private PieceView _pieceView;
+
+	/**
+	 * Constructs a new QuiltBoardView drawing the given quilt board.
+	 * 
+	 * @param quiltBoard : the quilt board to draw
+	 */
+	public QuiltBoardView(QuiltBoard quiltBoard) {
+		Objects.requireNonNull(quiltBoard);
+		_quiltBoard = quiltBoard;
+	}
+
+	/**
+	 * Changes the quilt board drawn by this view.
+	 * 
+	 * @param quiltBoard : the quilt board to draw
+	 */
+	public void setQuiltBoard(QuiltBoard quiltBoard) {
+		Objects.requireNonNull(quiltBoard);
+		_quiltBoard = quiltBoard;
+	}
+
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		var size = _quiltBoard.getSize();
+		var infos = getInfos(topLeftX + width, topLeftY, topLeftY + height);
+		var grid = new Rectangle2D.Float(infos.get(0), infos.get(2), infos.get(1), infos.get(1));
+		float cubeSize = infos.get(1) / size;
+		String s = "Recovered buttons : ";
+		int x = 0, y = 0;
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				var cube = new Rectangle2D.Float(infos.get(0) + j * cubeSize, infos.get(2) + i * cubeSize, cubeSize, cubeSize);
+				drawPieceCube(graphics, j, i, cube);
+				y = j;
+			}
+			x = i;
+		}
+		graphics.setStroke(new BasicStroke(5));
+		graphics.draw(grid);
+		graphics.drawString(s + _quiltBoard.getButtons(), infos.get(0) + x * cubeSize + s.length(),
+				infos.get(1) + (y + 1) * cubeSize + cubeSize / 3);
+	}
+
+	/**
+	 * The function draws a piece on the QuiltBoard on the (x, y) coordinates
+	 * 
+	 * @param graphics : object that calls the graphic methods.
+	 * @param piece : the piece to draw
+	 * @param x : x coordinate 
+	 * @param y : y coordinate
+	 */
+	public void drawPiece(Graphics2D graphics, Piece piece, int x, int y) {
+		Objects.requireNonNull(graphics);
+		Objects.requireNonNull(piece);
+		var infos = getInfos(topLeftX + width, topLeftY, topLeftY + height);
+		float cubeSize = infos.get(1) / _quiltBoard.getSize();
+		if (_pieceView == null) {
+			_pieceView = new PieceView(piece);
+		}
+		_pieceView.setPiece(piece);
+		_pieceView.SetGraphicalProperties(infos.get(0) + x * cubeSize, infos.get(2) + y * cubeSize, cubeSize);
+		_pieceView.draw(graphics);
+	}
+
+	/**
+	 * The function return 3 informations where to start the drawing and the size of
+	 * the square that contains it
+	 * 
+	 * @param bottomX
+	 * @param topY
+	 * @param bottomY
+	 * @return the List of those informations
+	 */
+	private List<Float> getInfos(float bottomX, float topY, float bottomY) {
+		float tY = topY + 50; // to have the smallest space on the top and bottom
+		float size = bottomY - 50 - (tY);
+		float tX = (bottomX - size) / 2;
+		return List.of(tX, size, tY);
+	}
+
+	/**
+	 * The function draws a pink cube on the quiltBoard or/and just a square at the
+	 * (i, j) coordinates
+	 * 
+	 * @param graphics
+	 * @param i
+	 * @param j
+	 * @param cube     the representation of the cubre
+	 */
+	private void drawPieceCube(Graphics2D graphics, int i, int j, Rectangle2D cube) {
+		if (_quiltBoard.getGrid().get(j, i)) {
+			graphics.setColor(Color.MAGENTA);
+			graphics.fill(cube);
+			graphics.setColor(Color.BLACK);
+		}
+		graphics.draw(cube);
+	}
+}
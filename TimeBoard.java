@@ -3,11 +3,6 @@ package fr.uge.patchwork;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.IntStream;
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.geom.Line2D;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -19,8 +14,27 @@ import java.nio.file.Path;
  * @author COUSSON Sophie
  * @author FRAIZE Victor
  */
-public class TimeBoard extends GraphicalObject {
+public class TimeBoard {
 	private final ArrayList<Box> _board = new ArrayList<Box>();
+	private final GameRandom _random;
+	private int _winLose;
+
+	/**
+	 * Constructs a new empty TimeBoard with a random of its own.
+	 */
+	public TimeBoard() {
+		this(new GameRandom());
+	}
+
+	/**
+	 * Constructs a new empty TimeBoard whose special boxes are chosen with the
+	 * given random.
+	 * 
+	 * @param random : the random of the game
+	 */
+	public TimeBoard(GameRandom random) {
+		_random = Objects.requireNonNull(random);
+	}
 
 	/**
 	 * Return the ArrayList in which the informations about the board are stored.
@@ -50,7 +64,21 @@ public class TimeBoard extends GraphicalObject {
 		if (position < 0 || position >= _board.size()) {
 			throw new IllegalArgumentException("position out of the board");
 		}
-		return _board.get(position).winLose();
+		var result = _board.get(position).winLose(_random);
+		return (result != 0 && _winLose != 0) ? _winLose : result;
+	}
+	
+	/**
+	 * Forces the result of the WIN_LOSE boxes, so that a search can play both
+	 * sides of the coin.
+	 * 
+	 * @param result : 1 to win, -1 to lose, 0 to flip the coin again
+	 */
+	public void forceWinLose(int result) {
+		if (result < -1 || result > 1) {
+			throw new IllegalArgumentException("The result must be -1, 0 or 1");
+		}
+		_winLose = result;
 	}
 	
 	/**
@@ -135,6 +163,35 @@ public class TimeBoard extends GraphicalObject {
 		}
 	}
 	
+	/**
+	 * Returns the code of each box of the board, the players are not written.
+	 * 
+	 * @return the codes, one byte per box
+	 */
+	public byte[] saveBoxes() {
+		var boxes = new byte[_board.size()];
+		for (int i = 0; i < boxes.length; i++) {
+			boxes[i] = _board.get(i).encode();
+		}
+		return boxes;
+	}
+
+	/**
+	 * Restores each box of the board with the given codes returned by
+	 * saveBoxes, the boxes are left without players.
+	 * 
+	 * @param boxes : the codes, one byte per box
+	 */
+	public void restoreBoxes(byte[] boxes) {
+		Objects.requireNonNull(boxes);
+		if (boxes.length != _board.size()) {
+			throw new IllegalArgumentException("The number of boxes doesn't match the board");
+		}
+		for (int i = 0; i < boxes.length; i++) {
+			_board.get(i).restore(boxes[i]);
+		}
+	}
+	
 	/**
 	 * Initializes the board by parsing the given file
 	 * 
@@ -151,6 +208,18 @@ public class TimeBoard extends GraphicalObject {
 		}
 	}
 	
+	/**
+	 * Initializes the board with the given statuses, one char per box
+	 * 
+	 * @param statuses : status of each box, |, 0 or x
+	 */
+	public void loadTimeBoard(String statuses) {
+		Objects.requireNonNull(statuses);
+		for (int i = 0; i < statuses.length(); i++) {
+			add(new Box(statuses.charAt(i)));
+		}
+	}
+	
 	/**
 	 * The function adds a special status to some boxes
 	 */
@@ -170,7 +239,7 @@ public class TimeBoard extends GraphicalObject {
 	private void addBoxToTheBoard(SpecialeBox[] third, int min, int max) {
 		int i = 0;
 		while (true) {
-			int rand = min + (int)(Math.random() * (36 - 18));
+			int rand = min + _random.nextInt(36 - 18);
 			if (_board.get(rand).getSpecial() == null) {
 				_board.get(rand).setSpecial(third[i]);
 				i++;
@@ -236,7 +305,7 @@ public class TimeBoard extends GraphicalObject {
 	 * @param posCurrent
 	 * @return the number of boxes
 	 */
-	private int getRemainningSize(int posCurrent) {
+	public int getRemainningSize(int posCurrent) {
 		return (_board.size() - posCurrent > Constants.WINDOW_SIZE.getValue()) ? Constants.WINDOW_SIZE.getValue() : _board.size() - posCurrent;
 	}
 
@@ -291,43 +360,4 @@ public class TimeBoard extends GraphicalObject {
 
 		return builder.toString();
 	}
-	
-	/**
-	 * the functions draw a box line that begins on (x, y)
-	 * @param context
-	 * @param x
-	 * @param y
-	 */
-	private void drawLine(Graphics2D graphics, float x, float y) {
-		var line = new Line2D.Float(x, y, x, y + Constants.BOX_SIZE.getValue());
-		graphics.setStroke(new BasicStroke(5));
-		graphics.setColor(Color.BLACK);
-		graphics.draw(line);
-	}
-	
-	@Override
-	protected void onDraw(Graphics2D graphics) {
-		int box = Constants.BOX_SIZE.getValue();
-		float boxWidth = width / Constants.WINDOW_SIZE.getValue();
-		var firstPlayerIdx = IntStream.range(0,_board.size())
-				.filter(i -> _board.get(i).hasPlayer())
-				.findFirst()
-				.orElse(-1);
-		int size = getRemainningSize(firstPlayerIdx);
-		Line2D line = new Line2D.Float(5, box, width - 5, box);
-		graphics.setStroke(new BasicStroke(5));
-		graphics.setColor(Color.BLACK);
-		graphics.draw(line);
-		for (var i = 0; i < size; i++) {
-			drawLine(graphics, i * boxWidth, 0);
-			if (_board.get(i + firstPlayerIdx).hasPlayer()) {
-				var pawn = _board.get(i + firstPlayerIdx).getPlayer().getPawn();
-				pawn.SetGraphicalProperties(i * boxWidth + boxWidth / 2, box/2, 20);
-				pawn.draw(graphics);
-			}
-			_board.get(i+firstPlayerIdx).SetGraphicalProperties(i*boxWidth, box/2, 10);
-			_board.get(i+firstPlayerIdx).draw(graphics);
-		}
-	}
-	
 }
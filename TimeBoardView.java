@@ -0,0 +1,100 @@
+package fr.uge.patchwork;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Line2D;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * This class draws the part of the time board around the pawns.
+ * 
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public class TimeBoardView extends GraphicalObject {
+	private final TimeBoard _timeBoard;
+	private BoxView _boxView;
+	private PawnView _pawnView;
+
+	/**
+	 * Constructs a new TimeBoardView drawing the given time board.
+	 * 
+	 * @param timeBoard : the time board to draw
+	 */
+	public TimeBoardView(TimeBoard timeBoard) {
+		Objects.requireNonNull(timeBoard);
+		_timeBoard = timeBoard;
+	}
+
+	/**
+	 * the functions draw a box line that begins on (x, y)
+	 * @param context
+	 * @param x
+	 * @param y
+	 */
+	private void drawLine(Graphics2D graphics, float x, float y) {
+		var line = new Line2D.Float(x, y, x, y + Constants.BOX_SIZE.getValue());
+		graphics.setStroke(new BasicStroke(5));
+		graphics.setColor(Color.BLACK);
+		graphics.draw(line);
+	}
+
+	/**
+	 * Draws the given pawn at the given coordinates.
+	 * 
+	 * @param graphics : object that calls the graphic methods.
+	 * @param pawn     : the pawn
+	 * @param x        : x coordinates
+	 * @param y        : y coordinates
+	 */
+	private void drawPawn(Graphics2D graphics, Pawn pawn, float x, float y) {
+		if (_pawnView == null) {
+			_pawnView = new PawnView(pawn);
+		}
+		_pawnView.setPawn(pawn);
+		_pawnView.SetGraphicalProperties(x, y, 20);
+		_pawnView.draw(graphics);
+	}
+
+	/**
+	 * Draws the given box at the given coordinates.
+	 * 
+	 * @param graphics : object that calls the graphic methods.
+	 * @param box      : the box
+	 * @param x        : x coordinates
+	 * @param y        : y coordinates
+	 */
+	private void drawBox(Graphics2D graphics, Box box, float x, float y) {
+		if (_boxView == null) {
+			_boxView = new BoxView(box);
+		}
+		_boxView.setBox(box);
+		_boxView.SetGraphicalProperties(x, y, 10);
+		_boxView.draw(graphics);
+	}
+
+	@Override
+	protected void onDraw(Graphics2D graphics) {
+		var board = _timeBoard.getBoard();
+		int box = Constants.BOX_SIZE.getValue();
+		float boxWidth = width / Constants.WINDOW_SIZE.getValue();
+		var firstPlayerIdx = IntStream.range(0, board.size())
+				.filter(i -> board.get(i).hasPlayer())
+				.findFirst()
+				.orElse(-1);
+		int size = _timeBoard.getRemainningSize(firstPlayerIdx);
+		Line2D line = new Line2D.Float(5, box, width - 5, box);
+		graphics.setStroke(new BasicStroke(5));
+		graphics.setColor(Color.BLACK);
+		graphics.draw(line);
+		for (var i = 0; i < size; i++) {
+			drawLine(graphics, i * boxWidth, 0);
+			if (board.get(i + firstPlayerIdx).hasPlayer()) {
+				drawPawn(graphics, board.get(i + firstPlayerIdx).getPlayer().getPawn(), i * boxWidth + boxWidth / 2, box/2);
+			}
+			drawBox(graphics, board.get(i + firstPlayerIdx), i * boxWidth, box/2);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package fr.uge.patchwork;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * This class plays many headless games between a strategy and the automa on
+ * every core. The games are split in a fork-join pool, each worker plays its
+ * games one after the other with its own strategy, its own random and its own
+ * game, and returns its statistics which are merged when the tasks join. The
+ * seed of a game only depends on the seed of the tournament and the index of
+ * the game, so a tournament gives the same results whatever the number of
+ * cores, as long as the strategy does not search with a time budget.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class Tournament {
+	/**
+	 * Difficulties of the automa played by {@link #main(String[])}.
+	 */
+	public static final List<Constants> DIFFICULTIES = List.of(Constants.INTERN, Constants.APPRENTICE,
+			Constants.FELLOW, Constants.MASTER, Constants.LEGEND);
+
+	/**
+	 * Decks of the automa played by {@link #main(String[])}.
+	 */
+	public static final List<Constants> DECKS = List.of(Constants.NORMAL_DECK, Constants.TACTICAL_DECK);
+
+	private static final int GAMES_PER_TASK = 64;
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final ForkJoinPool _pool;
+	private final Supplier<IStrategy> _strategies;
+	private final long _seed;
+
+	/**
+	 * Constructs a new Tournament whose games are played in the given pool.
+	 *
+	 * @param pool : the pool
+	 * @param strategies : creates the strategy of a worker, a strategy is never
+	 *        shared between two threads
+	 * @param seed : seed of the games
+	 */
+	public Tournament(ForkJoinPool pool, Supplier<IStrategy> strategies, long seed) {
+		_pool = Objects.requireNonNull(pool);
+		_strategies = Objects.requireNonNull(strategies);
+		_seed = seed;
+	}
+
+	/**
+	 * Constructs a new Tournament whose games are played in the common pool.
+	 *
+	 * @param strategies : creates the strategy of a worker, a strategy is never
+	 *        shared between two threads
+	 * @param seed : seed of the games
+	 */
+	public Tournament(Supplier<IStrategy> strategies, long seed) {
+		this(ForkJoinPool.commonPool(), strategies, seed);
+	}
+
+	/**
+	 * Plays the given number of games against the automa of the given difficulty
+	 * using the given deck.
+	 *
+	 * @param difficulty : difficulty of the automa
+	 * @param deck : deck of the automa
+	 * @param games : number of games
+	 * @return the statistics of the games
+	 */
+	public TournamentStats play(Constants difficulty, Constants deck, int games) {
+		Objects.requireNonNull(difficulty);
+		Objects.requireNonNull(deck);
+		if (!DIFFICULTIES.contains(difficulty) || !DECKS.contains(deck)) {
+			throw new IllegalArgumentException("Invalid difficulty or deck");
+		}
+		if (games < 0) {
+			throw new IllegalArgumentException("The number of games can't be negative");
+		}
+		var matchup = mix(_seed + GOLDEN_GAMMA * (difficulty.ordinal() * DECKS.size() + deck.ordinal()));
+		return _pool.invoke(new Games(difficulty, deck, matchup, 0, games));
+	}
+
+	/**
+	 * Plays a tournament against every difficulty and deck of the automa and
+	 * displays the statistics of each one.
+	 *
+	 * @param args : number of games of each matchup and seed, both optional
+	 */
+	public static void main(String[] args) {
+		var games = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000;
+		var seed = (args.length > 1) ? Long.parseLong(args[1]) : System.nanoTime();
+		var tournament = new Tournament(GreedyStrategy::new, seed);
+		System.out.println("seed " + seed + ", " + games + " games per matchup");
+		for (var difficulty : DIFFICULTIES) {
+			for (var deck : DECKS) {
+				var start = System.nanoTime();
+				var stats = tournament.play(difficulty, deck, games);
+				var duration = (System.nanoTime() - start) / 1_000_000;
+				System.out.println(difficulty + " " + deck + " : " + stats + " in " + duration + " ms");
+			}
+		}
+	}
+
+	/**
+	 * Mixes the bits of the given value, so that close seeds give unrelated
+	 * randoms.
+	 *
+	 * @param value : the value
+	 * @return the mixed value
+	 */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+	/**
+	 * Task playing the games of a range of indexes, it splits itself until it has
+	 * few games left.
+	 */
+	private final class Games extends RecursiveTask<TournamentStats> {
+		private static final long serialVersionUID = 1L;
+
+		private final Constants _difficulty;
+		private final Constants _deck;
+		private final long _matchup;
+		private final int _from;
+		private final int _to;
+
+		/**
+		 * Constructs a new task playing the games from the given index to the other
+		 * one.
+		 *
+		 * @param difficulty : difficulty of the automa
+		 * @param deck : deck of the automa
+		 * @param matchup : seed of the matchup
+		 * @param from : index of the first game, included
+		 * @param to : index of the last game, excluded
+		 */
+		private Games(Constants difficulty, Constants deck, long matchup, int from, int to) {
+			_difficulty = difficulty;
+			_deck = deck;
+			_matchup = matchup;
+			_from = from;
+			_to = to;
+		}
+
+		@Override
+		protected TournamentStats compute() {
+			if (_to - _from > GAMES_PER_TASK) {
+				var middle = (_from + _to) >>> 1;
+				var left = new Games(_difficulty, _deck, _matchup, _from, middle);
+				left.fork();
+				var stats = new Games(_difficulty, _deck, _matchup, middle, _to).compute();
+				stats.merge(left.join());
+				return stats;
+			}
+			var stats = new TournamentStats();
+			var strategy = _strategies.get();
+			var strategies = new IStrategy[] { strategy, null };
+			for (int i = _from; i < _to; i++) {
+				var random = new GameRandom(mix(_matchup + GOLDEN_GAMMA * i));
+				var player = new Player("Strategy", "Blue");
+				var automa = new Automa(_difficulty, 54);
+				try {
+					var game = GameFactory.buildHeadless(Constants.PHASE4, _deck, new IOpponent[] { player, automa },
+							strategies, random);
+					game.run();
+					stats.record(player.getScore(), automa.getScore(), game.getTurns());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return stats;
+		}
+	}
+}
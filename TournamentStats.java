@@ -0,0 +1,235 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+
+/**
+ * This class aggregates the results of the games of a tournament between a
+ * strategy and an automa : the number of wins, the distribution of the scores
+ * of both sides and the distribution of the lengths of the games. The
+ * distributions are kept as histograms so that the statistics of two workers
+ * are merged by adding their counts.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class TournamentStats {
+	/**
+	 * Lowest score counted on its own, lower scores are counted with it.
+	 */
+	public static final int MIN_SCORE = -256;
+
+	/**
+	 * Highest score counted on its own, higher scores are counted with it.
+	 */
+	public static final int MAX_SCORE = 255;
+
+	/**
+	 * Longest game counted on its own, longer games are counted with it.
+	 */
+	public static final int MAX_TURNS = 511;
+
+	private final long[] _playerScores = new long[MAX_SCORE - MIN_SCORE + 1];
+	private final long[] _automaScores = new long[MAX_SCORE - MIN_SCORE + 1];
+	private final long[] _turns = new long[MAX_TURNS + 1];
+	private long _games;
+	private long _wins;
+	private long _ties;
+
+	/**
+	 * Records the result of a game.
+	 *
+	 * @param playerScore : score of the strategy
+	 * @param automaScore : score of the automa
+	 * @param turns : number of turns of the game
+	 */
+	public void record(int playerScore, int automaScore, int turns) {
+		if (turns < 0) {
+			throw new IllegalArgumentException("The number of turns can't be negative");
+		}
+		_games++;
+		if (playerScore > automaScore) {
+			_wins++;
+		} else if (playerScore == automaScore) {
+			_ties++;
+		}
+		_playerScores[scoreIndex(playerScore)]++;
+		_automaScores[scoreIndex(automaScore)]++;
+		_turns[Math.min(turns, MAX_TURNS)]++;
+	}
+
+	/**
+	 * Adds the results of the given statistics to these statistics.
+	 *
+	 * @param other : the statistics to add
+	 */
+	public void merge(TournamentStats other) {
+		Objects.requireNonNull(other);
+		_games += other._games;
+		_wins += other._wins;
+		_ties += other._ties;
+		for (int i = 0; i < _playerScores.length; i++) {
+			_playerScores[i] += other._playerScores[i];
+			_automaScores[i] += other._automaScores[i];
+		}
+		for (int i = 0; i < _turns.length; i++) {
+			_turns[i] += other._turns[i];
+		}
+	}
+
+	/**
+	 * Getter for the number of games.
+	 *
+	 * @return number of games
+	 */
+	public long getGames() {
+		return _games;
+	}
+
+	/**
+	 * Getter for the number of games won by the strategy.
+	 *
+	 * @return number of wins
+	 */
+	public long getWins() {
+		return _wins;
+	}
+
+	/**
+	 * Getter for the number of games ended with the same score, the automa wins
+	 * them.
+	 *
+	 * @return number of ties
+	 */
+	public long getTies() {
+		return _ties;
+	}
+
+	/**
+	 * Returns the part of the games won by the strategy.
+	 *
+	 * @return the win rate, 0 if no game was played
+	 */
+	public double getWinRate() {
+		return (_games == 0) ? 0 : (double) _wins / _games;
+	}
+
+	/**
+	 * Returns the mean score of the strategy.
+	 *
+	 * @return the mean score
+	 */
+	public double getPlayerMeanScore() {
+		return mean(_playerScores, MIN_SCORE);
+	}
+
+	/**
+	 * Returns the mean score of the automa.
+	 *
+	 * @return the mean score
+	 */
+	public double getAutomaMeanScore() {
+		return mean(_automaScores, MIN_SCORE);
+	}
+
+	/**
+	 * Returns the score of the strategy below which the given part of the games
+	 * ends.
+	 *
+	 * @param part : part of the games, between 0 and 1
+	 * @return the score
+	 */
+	public int getPlayerScorePercentile(double part) {
+		return percentile(_playerScores, part) + MIN_SCORE;
+	}
+
+	/**
+	 * Returns the score of the automa below which the given part of the games
+	 * ends.
+	 *
+	 * @param part : part of the games, between 0 and 1
+	 * @return the score
+	 */
+	public int getAutomaScorePercentile(double part) {
+		return percentile(_automaScores, part) + MIN_SCORE;
+	}
+
+	/**
+	 * Returns the mean number of turns of a game.
+	 *
+	 * @return the mean number of turns
+	 */
+	public double getMeanTurns() {
+		return mean(_turns, 0);
+	}
+
+	/**
+	 * Returns the number of turns below which the given part of the games ends.
+	 *
+	 * @param part : part of the games, between 0 and 1
+	 * @return the number of turns
+	 */
+	public int getTurnsPercentile(double part) {
+		return percentile(_turns, part);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%d games, %.1f%% won, %d ties | strategy %.1f [%d, %d, %d] | automa %.1f [%d, %d, %d] | %.1f turns [%d, %d]",
+				_games, 100 * getWinRate(), _ties, getPlayerMeanScore(), getPlayerScorePercentile(0.1),
+				getPlayerScorePercentile(0.5), getPlayerScorePercentile(0.9), getAutomaMeanScore(),
+				getAutomaScorePercentile(0.1), getAutomaScorePercentile(0.5), getAutomaScorePercentile(0.9),
+				getMeanTurns(), getTurnsPercentile(0.1), getTurnsPercentile(0.9));
+	}
+
+	/**
+	 * Returns the index of the given score in a histogram of scores.
+	 *
+	 * @param score : the score
+	 * @return the index
+	 */
+	private static int scoreIndex(int score) {
+		return Math.max(MIN_SCORE, Math.min(MAX_SCORE, score)) - MIN_SCORE;
+	}
+
+	/**
+	 * Returns the mean value of the given histogram.
+	 *
+	 * @param histogram : the histogram
+	 * @param offset : value of the first index
+	 * @return the mean, 0 if the histogram is empty
+	 */
+	private double mean(long[] histogram, int offset) {
+		if (_games == 0) {
+			return 0;
+		}
+		var sum = 0.0;
+		for (int i = 0; i < histogram.length; i++) {
+			sum += (double) histogram[i] * (i + offset);
+		}
+		return sum / _games;
+	}
+
+	/**
+	 * Returns the first index of the given histogram below which the given part
+	 * of the games is counted.
+	 *
+	 * @param histogram : the histogram
+	 * @param part : part of the games, between 0 and 1
+	 * @return the index, 0 if the histogram is empty
+	 */
+	private int percentile(long[] histogram, double part) {
+		if (part < 0 || part > 1) {
+			throw new IllegalArgumentException("The part must be between 0 and 1");
+		}
+		var target = Math.ceil(part * _games);
+		var count = 0L;
+		for (int i = 0; i < histogram.length; i++) {
+			count += histogram[i];
+			if (count >= target && count > 0) {
+				return i;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,189 @@
+package fr.uge.patchwork;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * This class stores the results of a search by the Zobrist hash of their
+ * position, so a position reached by several orders of moves is only searched
+ * once. The table has a fixed number of entries and can be shared by the
+ * threads of a search without any lock : an entry is two longs, the data and
+ * the hash XORed with the data, so an entry written by two threads at once no
+ * longer matches its hash and is read as missing.
+ *
+ * A result is a score, the depth it was searched at, the kind of bound it is
+ * and the best move, packed in a long by {@link #entry(int, int, int, int)}.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class TranspositionTable {
+	/**
+	 * Returned by get when the position is not in the table.
+	 */
+	public static final long MISSING = 0;
+
+	/**
+	 * The score is the exact score of the position.
+	 */
+	public static final int EXACT = 1;
+
+	/**
+	 * The score is a lower bound of the score of the position.
+	 */
+	public static final int LOWER_BOUND = 2;
+
+	/**
+	 * The score is an upper bound of the score of the position.
+	 */
+	public static final int UPPER_BOUND = 3;
+
+	private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+	private static final int DEPTH_SHIFT = 32;
+	private static final int BOUND_SHIFT = 40;
+	private static final int MOVE_SHIFT = 42;
+
+	// two longs per entry : hash ^ data, then data
+	private final long[] _slots;
+	private final int _mask;
+
+	/**
+	 * Constructs a new empty TranspositionTable.
+	 *
+	 * @param capacity : number of entries, rounded down to a power of two
+	 */
+	public TranspositionTable(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 29) {
+			throw new IllegalArgumentException("The capacity must be between 1 and 2^29");
+		}
+		var entries = Integer.highestOneBit(capacity);
+		_slots = new long[entries * 2];
+		_mask = entries - 1;
+	}
+
+	/**
+	 * Getter for the number of entries.
+	 *
+	 * @return number of entries
+	 */
+	public int getCapacity() {
+		return _mask + 1;
+	}
+
+	/**
+	 * Returns the result stored for the given position.
+	 *
+	 * @param hash : hash of the position
+	 * @return the result, MISSING if the position is not in the table
+	 */
+	public long get(long hash) {
+		var index = index(hash);
+		var check = (long) SLOTS.getOpaque(_slots, index);
+		var data = (long) SLOTS.getOpaque(_slots, index + 1);
+		return (data != MISSING && (check ^ data) == hash) ? data : MISSING;
+	}
+
+	/**
+	 * Stores the given result for the given position. The result replaces the
+	 * one of another position, or the one of the same position if it wasn't
+	 * searched deeper.
+	 *
+	 * @param hash : hash of the position
+	 * @param entry : the result, returned by entry
+	 */
+	public void put(long hash, long entry) {
+		if (bound(entry) < EXACT) {
+			throw new IllegalArgumentException("Invalid entry");
+		}
+		var index = index(hash);
+		var data = (long) SLOTS.getOpaque(_slots, index + 1);
+		var check = (long) SLOTS.getOpaque(_slots, index);
+		if (data != MISSING && (check ^ data) == hash && depth(data) > depth(entry)) {
+			return;
+		}
+		SLOTS.setOpaque(_slots, index, hash ^ entry);
+		SLOTS.setOpaque(_slots, index + 1, entry);
+	}
+
+	/**
+	 * Removes every entry of the table. It must not be called during a search.
+	 */
+	public void clear() {
+		Arrays.fill(_slots, 0);
+	}
+
+	/**
+	 * Packs a result in a long.
+	 *
+	 * @param score : the score
+	 * @param depth : depth of the search, between 0 and 255
+	 * @param bound : EXACT, LOWER_BOUND or UPPER_BOUND
+	 * @param move : the best move, between -1 and 2^21 - 2
+	 * @return the entry
+	 */
+	public static long entry(int score, int depth, int bound, int move) {
+		if (depth < 0 || depth > 0xFF) {
+			throw new IllegalArgumentException("The depth must be between 0 and 255");
+		}
+		if (bound < EXACT || bound > UPPER_BOUND) {
+			throw new IllegalArgumentException("Invalid bound");
+		}
+		if (move < -1 || move >= (1 << 21) - 1) {
+			throw new IllegalArgumentException("Invalid move");
+		}
+		return (score & 0xFFFF_FFFFL) | (long) depth << DEPTH_SHIFT | (long) bound << BOUND_SHIFT
+				| (long) (move + 1) << MOVE_SHIFT;
+	}
+
+	/**
+	 * Returns the score of the given entry.
+	 *
+	 * @param entry : the entry
+	 * @return the score
+	 */
+	public static int score(long entry) {
+		return (int) entry;
+	}
+
+	/**
+	 * Returns the depth of the given entry.
+	 *
+	 * @param entry : the entry
+	 * @return the depth
+	 */
+	public static int depth(long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * Returns the kind of bound of the given entry.
+	 *
+	 * @param entry : the entry
+	 * @return EXACT, LOWER_BOUND or UPPER_BOUND
+	 */
+	public static int bound(long entry) {
+		return (int) (entry >>> BOUND_SHIFT) & 3;
+	}
+
+	/**
+	 * Returns the best move of the given entry.
+	 *
+	 * @param entry : the entry
+	 * @return the move, -1 if there is none
+	 */
+	public static int move(long entry) {
+		return (int) (entry >>> MOVE_SHIFT) - 1;
+	}
+
+	/**
+	 * Returns the index of the first slot of the entry of the given position.
+	 *
+	 * @param hash : hash of the position
+	 * @return the index
+	 */
+	private int index(long hash) {
+		// the low bits of a Zobrist hash are as random as the high ones
+		return ((int) hash & _mask) << 1;
+	}
+}
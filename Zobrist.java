@@ -0,0 +1,118 @@
+package fr.uge.patchwork;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * This class holds the random keys of the Zobrist hash of a position. The hash
+ * of a position is the XOR of the keys of what it is made of, so placing a
+ * piece or buying one only XORs the keys of the cells or of the piece that
+ * changed. The keys of the cells and of the pieces are drawn once with a fixed
+ * seed, the keys of the numbers, like a position or a number of buttons, are
+ * mixed from the number itself.
+ *
+ * @author COUSSON Sophie
+ * @author FRAIZE Victor
+ */
+public final class Zobrist {
+	/**
+	 * Maximal number of pieces of a game that have a key.
+	 */
+	public static final int MAX_PIECES = 256;
+
+	private static final long SEED = 0x5A0B_5157_2024_0001L;
+	private static final long[] CELLS;
+	private static final long[] PIECES;
+	private static final long[] NEUTRAL_PAWN;
+
+	// kinds of numbers of a position
+	private static final int POSITION = 0;
+	private static final int BUTTONS = 1;
+	private static final int SPECIAL_TILE = 2;
+	private static final int CURRENT = 3;
+	private static final int KINDS = 4;
+
+	static {
+		var random = new SplittableRandom(SEED);
+		CELLS = random.longs(BitBoard.MAX_SIZE * BitBoard.MAX_SIZE).toArray();
+		PIECES = random.longs(MAX_PIECES).toArray();
+		NEUTRAL_PAWN = random.longs(MAX_PIECES).toArray();
+	}
+
+	private Zobrist() {
+	}
+
+	/**
+	 * Returns the key of the given cell of a quilt board.
+	 *
+	 * @param index : index of the cell, line * size + column
+	 * @return the key
+	 */
+	public static long cell(int index) {
+		return CELLS[index];
+	}
+
+	/**
+	 * Returns the key of the given piece still around the neutral pawn.
+	 *
+	 * @param id : id of the piece in its game
+	 * @return the key
+	 */
+	public static long piece(int id) {
+		return PIECES[id];
+	}
+
+	/**
+	 * Returns the key of the neutral pawn standing just before the given piece.
+	 *
+	 * @param id : id of the piece in its game
+	 * @return the key
+	 */
+	public static long neutralPawn(int id) {
+		return NEUTRAL_PAWN[id];
+	}
+
+	/**
+	 * Returns the hash of the position of the given game, made of the quilt
+	 * boards, the positions, the buttons and the special tiles of the
+	 * opponents, the current opponent, the pieces left and the neutral pawn.
+	 * The deck of the automa is a chance and is not hashed. The order of the
+	 * pieces is the one of the game, so only the hashes of the positions of the
+	 * same game can be compared.
+	 *
+	 * @param opponentHandler : the opponents
+	 * @param pieceHandler : the pieces
+	 * @return the hash
+	 */
+	public static long hash(OpponentHandler opponentHandler, PieceHandler pieceHandler) {
+		Objects.requireNonNull(opponentHandler);
+		Objects.requireNonNull(pieceHandler);
+		var hash = pieceHandler.getHash() ^ number(0, CURRENT, opponentHandler.getCurrentIndex());
+		for (int i = 0; i < 2; i++) {
+			var opponent = opponentHandler.getOpponentIndex(i);
+			hash ^= number(i, POSITION, opponent.getPosition());
+			hash ^= number(i, BUTTONS, opponent.getButton());
+			hash ^= number(i, SPECIAL_TILE, opponent.hasSpecialTile() ? 1 : 0);
+			if (opponent instanceof Player) {
+				// the boards of the opponents have the same keys, the second one is moved
+				hash ^= Long.rotateLeft(opponent.getQuiltboard().getHash(), 32 * i);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the key of a number of a position.
+	 *
+	 * @param opponent : index of the opponent the number belongs to
+	 * @param kind : kind of the number
+	 * @param value : the number
+	 * @return the key
+	 */
+	private static long number(int opponent, int kind, int value) {
+		var z = SEED + ((long) value << 8 | opponent * KINDS + kind) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}